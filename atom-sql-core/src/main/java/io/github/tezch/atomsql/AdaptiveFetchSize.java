@@ -0,0 +1,43 @@
+package io.github.tezch.atomsql;
+
+/**
+ * {@link io.github.tezch.atomsql.annotation.SqlProxy}のメソッドごとに検索結果の件数を記録し、それをもとにフェッチサイズを決定するクラスです。<br>
+ * 件数は指数移動平均で保持します。
+ * @see Configuration#adaptiveFetchSize()
+ * @author tezch
+ */
+class AdaptiveFetchSize {
+
+	private static final int minFetchSize = 10;
+
+	//件数が不明な初回と、件数が多い場合のフェッチサイズ
+	private static final int maxFetchSize = 1000;
+
+	//新しい件数の重み
+	private static final double weight = 0.25;
+
+	//厳密さは必要ないので、競合による記録漏れは許容する
+	//負の場合、未記録
+	private volatile double averageRows = -1;
+
+	/**
+	 * 次の検索で使用するフェッチサイズを返します。
+	 */
+	int fetchSize() {
+		var average = averageRows;
+		if (average < 0) return maxFetchSize;
+
+		//平均より多少多い件数でも一度で取得できるようにする
+		var size = Math.ceil(average * (1 + weight));
+
+		return (int) Math.max(minFetchSize, Math.min(maxFetchSize, size));
+	}
+
+	/**
+	 * 検索結果の件数を記録します。
+	 */
+	void record(int rows) {
+		var average = averageRows;
+		averageRows = average < 0 ? rows : average + (rows - average) * weight;
+	}
+}
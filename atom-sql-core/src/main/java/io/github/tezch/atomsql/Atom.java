@@ -4,34 +4,27 @@ import java.lang.System.Logger.Level;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import io.github.tezch.atomsql.AtomSql.SqlProxyHelper;
 import io.github.tezch.atomsql.SqlService.BindingValue;
 import io.github.tezch.atomsql.annotation.DataObject;
-import io.github.tezch.atomsql.annotation.OptionalColumn;
+import io.github.tezch.atomsql.annotation.FetchSize;
+import io.github.tezch.atomsql.annotation.MaxRows;
 import io.github.tezch.atomsql.annotation.Sql;
 import io.github.tezch.atomsql.annotation.SqlProxy;
-import io.github.tezch.atomsql.annotation.processor.Methods;
-import io.github.tezch.atomsql.annotation.processor.OptionalDatas;
-import io.github.tezch.atomsql.annotation.processor.TooManyColumnsDataObject;
+import io.github.tezch.atomsql.annotation.processor.DataObjectMapper;
 import io.github.tezch.atomsql.internal.AtomSqlUtils;
 
 /**
@@ -43,6 +36,8 @@ import io.github.tezch.atomsql.internal.AtomSqlUtils;
  */
 public class Atom<T> {
 
+	private static final SecureString.Factory secureStrings = SecureString.factory();
+
 	/**
 	 * 空文字列
 	 */
@@ -146,9 +141,9 @@ public class Atom<T> {
 	 */
 	public static final Atom<?> OR = newInstance("OR");
 
-	private static final SecureString leftParen = new SecureString("(");
+	private static final SecureString leftParen = secureStrings.create("(");
 
-	private static final SecureString rightParen = new SecureString(")");
+	private static final SecureString rightParen = secureStrings.create(")");
 
 	private final AtomSql atomSql;
 
@@ -194,244 +189,151 @@ public class Atom<T> {
 		preparedStatementSetter = createPreparedStatementSetter();
 	}
 
+	/**
+	 * 検索ごとに、最初の行で変換方法とカラム位置を確定させ、以降の行ではそれを使用する
+	 */
 	@SuppressWarnings("unchecked")
 	private RowMapper<T> dataObjectCreator() {
-		return (r, n) -> (T) createDataObject(r);
-	}
-
-	private static Atom<?> newInstance(String sql) {
-		var caller = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+		var creatorHolder = new Holder<RowMapper<?>>();
 
-		if (!caller.equals(Atom.class))
-			throw new SecurityException("Direct access not allowed");
-
-		var atomSql = new AtomSql();
-		return new Atom<>(
-			atomSql,
-			atomSql.helper(),
-			atomSql.sqlComposite(new SecureString(sql)),
-			true);
-	}
-
-	SqlProxyHelper helper() {
-		return helper;
-	}
-
-	SqlComposite sqlComposite() {
-		return sqlSupplier.get();
-	}
+		return (r, n) -> {
+			var creator = creatorHolder.get();
+			if (creator == null) {
+				creator = dataObjectCreator(r);
+				creatorHolder.set(creator);
+			}
 
-	PreparedStatementSetter preparedStatementSetter() {
-		return preparedStatementSetter;
+			return (T) creator.mapRow(r, n);
+		};
 	}
 
-	private static class Holder<T> {
-
-		private T value;
-
-		private T get() {
-			return value;
-		}
+	/**
+	 * processorが生成した{@link DataObjectMapper}
+	 */
+	private static final ClassValue<Optional<DataObjectMapper>> dataObjectMappers = new ClassValue<>() {
 
-		private void set(T value) {
-			this.value = value;
+		@Override
+		protected Optional<DataObjectMapper> computeValue(Class<?> resultClass) {
+			try {
+				var mapperClass = Class.forName(
+					resultClass.getName() + AtomSql.DATA_OBJECT_MAPPER_CLASS_SUFFIX,
+					true,
+					resultClass.getClassLoader());
+
+				return Optional.of((DataObjectMapper) mapperClass.getConstructor().newInstance());
+			} catch (ClassNotFoundException | NoSuchMethodException e) {
+				//古いprocessorで生成された場合等、変換クラスが無い場合はリフレクションを使用する
+				return Optional.empty();
+			} catch (InvocationTargetException | IllegalAccessException | InstantiationException e) {
+				throw new IllegalStateException(e);
+			}
 		}
-	}
+	};
 
-	Object createDataObject(ResultSet rs) {
+	private RowMapper<?> dataObjectCreator(ResultSet rs) throws SQLException {
 		var resultClass = helper.resultClass();
 		var typeFactory = helper.typeFactory();
 
 		if (resultClass == Object.class)
 			throw new IllegalStateException();
 
+		var mapper = dataObjectMappers.get(resultClass);
+		if (mapper.isPresent()) return generatedDataObjectCreator(rs, mapper.get());
+
 		if (resultClass.isRecord()) {
-			return createRecordDataObject(rs);
+			return reflectiveDataObjectCreator(rs);
 		}
 
 		//検索結果が単一の値の場合
 		if (typeFactory.canUse(resultClass)) {
-			try {
-				return typeFactory.select(resultClass).get(rs, 1);
-			} catch (SQLException e) {
-				throw new AtomSqlException(e);
-			}
+			var type = typeFactory.select(resultClass);
+			return (r, n) -> type.get(r, 1);
 		}
 
 		Constructor<?> constructor;
 		try {
 			constructor = resultClass.getConstructor(ResultSet.class);
 		} catch (NoSuchMethodException e) {
-			return createDefaultConstructorClassDataObject(rs);
-		}
-
-		try {
-			return constructor.newInstance(rs);
-		} catch (InvocationTargetException | IllegalAccessException | InstantiationException e) {
-			throw new IllegalStateException(e);
+			return reflectiveDataObjectCreator(rs);
 		}
-	}
 
-	private static Set<String> columnNamesFrom(ResultSet rs) {
-		try {
-			var metaData = rs.getMetaData();
-
-			var count = metaData.getColumnCount();
-
-			return new HashSet<>(IntStream.range(1, count + 1).mapToObj(i -> {
-				try {
-					return metaData.getColumnName(i).toUpperCase();
-				} catch (SQLException e) {
-					throw new AtomSqlException(e);
-				}
-			}).toList());
-		} catch (SQLException e) {
-			throw new AtomSqlException(e);
-		}
-	}
-
-	private Object createRecordDataObject(ResultSet rs) {
-		var resultClass = helper.resultClass();
-
-		Methods methods;
-		try {
-			methods = Class.forName(
-				resultClass.getName() + AtomSql.METADATA_CLASS_SUFFIX,
-				true,
-				Thread.currentThread().getContextClassLoader()).getAnnotation(Methods.class);
-		} catch (ClassNotFoundException e) {
-			throw new IllegalStateException(e);
-		}
-
-		var method = methods.value()[0];
-		var parameterNames = method.parameters();
-		var parameterTypes = method.parameterTypes();
-		var parameters = new Object[parameterNames.length];
-		var optionalColumns = method.parameterOptionalColumns();
-
-		var resultSetColumns = columnNamesFrom(rs);
-
-		var optionals = new Optionals();
-		for (var i = 0; i < parameterNames.length; i++) {
-			var parameterType = parameterTypes[i];
-			var parameterName = parameterNames[i];
-			var isOptionalColumn = optionalColumns[i];
-
-			var needsOptional = false;
-			if (Optional.class.equals(parameterType)) {
-				parameterType = optionals.get(parameterName);
-				needsOptional = true;
-			}
-
-			var type = helper.typeFactory().select(parameterType);
+		return (r, n) -> {
 			try {
-				//OptionalColumnではなく、SELECT句にカラムがない場合、値はnull
-				var value = (!isOptionalColumn || resultSetColumns.contains(parameterName.toUpperCase())) ? type.get(rs, parameterName) : null;
-				parameters[i] = needsOptional ? Optional.ofNullable(value) : value;
-			} catch (SQLException e) {
-				throw new AtomSqlException(e);
+				return constructor.newInstance(r);
+			} catch (InvocationTargetException | IllegalAccessException | InstantiationException e) {
+				throw new IllegalStateException(e);
 			}
-		}
-
-		try {
-			var constructor = resultClass.getConstructor(parameterTypes);
-			return constructor.newInstance(parameters);
-		} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | InstantiationException e) {
-			throw new IllegalStateException(e);
-		}
+		};
 	}
 
-	private Object createDefaultConstructorClassDataObject(ResultSet rs) {
-		var resultClass = helper.resultClass();
-
-		var tooManyColumnsDataObject = resultClass.getAnnotation(TooManyColumnsDataObject.class);
+	private RowMapper<Object> generatedDataObjectCreator(ResultSet rs, DataObjectMapper mapper) throws SQLException {
+		var plan = columnPlan(rs, new ColumnPlan.Target(mapper.columns(), mapper.types(), mapper.optionalColumns()), true);
 
-		Class<?> dataObjectClass;
+		var types = plan.types();
+		var columnIndexes = plan.columnIndexes();
 
-		if (tooManyColumnsDataObject == null) {
-			dataObjectClass = resultClass;
-		} else {
-			dataObjectClass = tooManyColumnsDataObject.bean();
-		}
-
-		Object object;
-
-		try {
-			var constructor = dataObjectClass.getConstructor();
-			object = constructor.newInstance();
-		} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | InstantiationException e) {
-			throw new IllegalStateException(e);
-		}
+		return (r, n) -> mapper.map(r, types, columnIndexes);
+	}
 
-		var resultSetColumns = columnNamesFrom(rs);
+	/**
+	 * 同じ検索結果の型とSQL、取得対象で以前に作成した{@link ColumnPlan}があれば、それを使用する<br>
+	 * {@link DataObjectMapper}と{@link DataObjectAccessor}では取得対象のカラムの並びが異なるため、区別して保持する
+	 */
+	private ColumnPlan columnPlan(ResultSet rs, ColumnPlan.Target target, boolean generated) throws SQLException {
+		return ColumnPlan.of(
+			helper.columnPlans(),
+			new ColumnPlan.Key(helper.resultClass(), sqlComposite().compiled().sqlString(), generated),
+			rs,
+			target,
+			helper.typeFactory());
+	}
 
-		var optionals = new Optionals();
-		Arrays.stream(resultClass.getFields()).forEach(f -> {
-			var modifiers = f.getModifiers();
-			//フィールドがstaticの場合は対象から除外
-			//publicではない、finalの場合は以降の処理でエラーを起こすことで使用出来ないことを通知する
-			if (Modifier.isStatic(modifiers)) return;
+	private static Atom<?> newInstance(String sql) {
+		var atomSql = new AtomSql();
+		return new Atom<>(
+			atomSql,
+			atomSql.helper(),
+			atomSql.sqlComposite(secureStrings.create(sql)),
+			true);
+	}
 
-			var fieldName = f.getName();
-			var fieldType = f.getType();
+	SqlProxyHelper helper() {
+		return helper;
+	}
 
-			var needsOptional = false;
-			if (Optional.class.equals(fieldType)) {
-				fieldType = optionals.get(fieldName);
-				needsOptional = true;
-			}
+	SqlComposite sqlComposite() {
+		return sqlSupplier.get();
+	}
 
-			var type = helper.typeFactory().select(fieldType);
+	PreparedStatementSetter preparedStatementSetter() {
+		return preparedStatementSetter;
+	}
 
-			var isOptionalColumn = f.getAnnotation(OptionalColumn.class) != null;
+	private static class Holder<T> {
 
-			try {
-				//OptionalColumnではなく、SELECT句にカラムがない場合、値はnull
-				var value = (!isOptionalColumn || resultSetColumns.contains(fieldName.toUpperCase())) ? type.get(rs, fieldName) : null;
-				f.set(object, needsOptional ? Optional.ofNullable(value) : value);
-			} catch (SQLException e) {
-				throw new AtomSqlException(e);
-			} catch (IllegalAccessException e) {
-				throw new IllegalStateException(e);
-			}
-		});
+		private T value;
 
-		if (tooManyColumnsDataObject == null) {
-			return object;
+		private T get() {
+			return value;
 		}
 
-		try {
-			var constructor = resultClass.getConstructor(tooManyColumnsDataObject.bean());
-			return constructor.newInstance(object);
-		} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | InstantiationException e) {
-			throw new IllegalStateException(e);
+		private void set(T value) {
+			this.value = value;
 		}
 	}
 
-	private class Optionals {
-
-		Map<String, Class<?>> map;
-
-		private Class<?> get(String name) {
-			if (map == null) {
-				map = new HashMap<>();
+	/**
+	 * processorが生成した{@link DataObjectMapper}が無い場合、クラスごとに保持された{@link DataObjectAccessor}を使用する
+	 */
+	private RowMapper<Object> reflectiveDataObjectCreator(ResultSet rs) throws SQLException {
+		var accessor = DataObjectAccessor.of(helper.resultClass());
 
-				Arrays.stream(loadOptionalDatas().value()).forEach(d -> map.put(d.name(), d.type()));
-			}
+		var plan = columnPlan(rs, accessor.target(), false);
 
-			return map.get(name);
-		}
-	}
+		var types = plan.types();
+		var columnIndexes = plan.columnIndexes();
 
-	private OptionalDatas loadOptionalDatas() {
-		try {
-			return Class.forName(
-				helper.resultClass().getName() + AtomSql.DATA_OBJECT_METADATA_CLASS_SUFFIX,
-				true,
-				Thread.currentThread().getContextClassLoader()).getAnnotation(OptionalDatas.class);
-		} catch (ClassNotFoundException e) {
-			throw new IllegalStateException(e);
-		}
+		return (r, n) -> accessor.create(r, types, columnIndexes);
 	}
 
 	void logElapsed(long startNanos) {
@@ -479,7 +381,7 @@ public class Atom<T> {
 					//自分自身が見つからなかった
 					.orElseThrow(() -> new IllegalStateException("Atom must be a static field in the calling class"));
 
-				helper = atomSql.sqlComposite(new SecureString(sql));
+				helper = atomSql.sqlComposite(secureStrings.create(sql));
 
 				sqlHolder.set(helper);
 
@@ -580,6 +482,88 @@ public class Atom<T> {
 		return get(list());
 	}
 
+	/**
+	 * 検索結果を、ヒープ外のメモリに詰めて保持する読み取り専用の{@link List}として返します。<br>
+	 * 要素は{@link List#get(int)}のたびに復元されるため、{@link #list()}と比べて保持に必要なヒープが少なく、大量の行を保持する場合に使用します。<br>
+	 * 同じ位置の要素であっても、取得のたびに別のインスタンスとなります。<br>
+	 * {@link ResultSet}を受け取るコンストラクタを持つ{@link DataObject}には使用できません。
+	 * @return {@link DataObject}付与結果オブジェクトの{@link List}
+	 */
+	public List<T> compactList() {
+		var writerHolder = new Holder<CompactList.Writer>();
+
+		try (var stream = streamInternal((r, n) -> {
+			var writer = writerHolder.get();
+			if (writer == null) {
+				writer = compactListWriter(r);
+				writerHolder.set(writer);
+			}
+
+			writer.write(r);
+			return null;
+		})) {
+			stream.forEach(r -> {});
+		}
+
+		var writer = writerHolder.get();
+		if (writer == null) return List.of();
+
+		var resultClass = helper.resultClass();
+
+		//検索結果が単一の値の場合
+		if (helper.typeFactory().canUse(resultClass)) return writer.result(values -> values[0]);
+
+		return writer.result(DataObjectAccessor.of(resultClass)::create);
+	}
+
+	private CompactList.Writer compactListWriter(ResultSet rs) throws SQLException {
+		var resultClass = helper.resultClass();
+		var typeFactory = helper.typeFactory();
+
+		if (resultClass == Object.class)
+			throw new IllegalStateException();
+
+		if (typeFactory.canUse(resultClass)) {
+			return new CompactList.Writer(new int[] { 1 }, new AtomSqlType[] { typeFactory.select(resultClass) });
+		}
+
+		var plan = columnPlan(rs, DataObjectAccessor.of(resultClass).target(), false);
+
+		return new CompactList.Writer(plan.columnIndexes(), plan.types());
+	}
+
+	/**
+	 * 検索結果を、カラムごとの配列を持つ{@link ColumnarResult}として返します。<br>
+	 * {@link DataObject}を作成せずに検索結果全件を読み込むため、大量の行を集計する場合等に使用します。
+	 * @return {@link ColumnarResult}
+	 */
+	public ColumnarResult columns() {
+		var hints = helper.queryHints();
+		var adaptiveFetchSize = helper.adaptiveFetchSize();
+
+		//フェッチサイズが指定されていない場合のみ、過去の検索結果件数から決定する
+		var adaptive = adaptiveFetchSize != null && hints.fetchSize() == 0;
+		if (adaptive) hints = hints.withFetchSize(adaptiveFetchSize.fetchSize());
+
+		ColumnarResult result;
+		var startNanos = System.nanoTime();
+		try {
+			result = helper.entry()
+				.sqlService()
+				.queryForColumns(
+					sqlComposite().compiled().sqlString(),
+					preparedStatementSetter,
+					hints,
+					helper.snapshot());
+		} finally {
+			logElapsed(startNanos);
+		}
+
+		if (adaptive) adaptiveFetchSize.record(result.size());
+
+		return result;
+	}
+
 	/**
 	 * {@link DataObject}の型を強制的にセットし、検索結果を取得します。
 	 * @see #stream()
@@ -633,6 +617,35 @@ public class Atom<T> {
 			andType);
 	}
 
+	/**
+	 * 検索時に{@link PreparedStatement#setFetchSize(int)}に設定する値を指定した、新しいインスタンスを返します。<br>
+	 * メソッドやクラスに付与された{@link FetchSize}よりも優先されます。<br>
+	 * {@link #stream()}で大量の行を読み込む場合等、ドライバが検索結果を全件保持しないようにするために使用します。
+	 * @param fetchSize フェッチサイズ 0の場合、指定なしとして扱われます
+	 * @return 新たに作成された{@link Atom}
+	 */
+	public Atom<T> fetchSize(int fetchSize) {
+		return new Atom<T>(
+			atomSql,
+			SqlProxyHelper.newHelper(helper, helper.queryHints().withFetchSize(fetchSize)),
+			sqlComposite(),
+			andType);
+	}
+
+	/**
+	 * 検索時に{@link PreparedStatement#setMaxRows(int)}に設定する値を指定した、新しいインスタンスを返します。<br>
+	 * メソッドやクラスに付与された{@link MaxRows}よりも優先されます。
+	 * @param maxRows 検索結果の最大件数 0の場合、制限なしとなります
+	 * @return 新たに作成された{@link Atom}
+	 */
+	public Atom<T> maxRows(int maxRows) {
+		return new Atom<T>(
+			atomSql,
+			SqlProxyHelper.newHelper(helper, helper.queryHints().withMaxRows(maxRows)),
+			sqlComposite(),
+			andType);
+	}
+
 	/**
 	 * {@link RowMapper}により生成された結果オブジェクトを{@link Stream}として返します。
 	 * @see #stream
@@ -661,6 +674,23 @@ public class Atom<T> {
 	private <R> Stream<R> streamInternal(RowMapper<R> mapper) {
 		Objects.requireNonNull(mapper);
 
+		var hints = helper.queryHints();
+		var adaptiveFetchSize = helper.adaptiveFetchSize();
+
+		//フェッチサイズが指定されていない場合のみ、過去の検索結果件数から決定する
+		if (adaptiveFetchSize == null || hints.fetchSize() != 0) return queryForStream(mapper, hints);
+
+		var rows = new int[1];
+		var stream = queryForStream((r, n) -> {
+			//行番号の開始はSqlServiceの実装により異なるため、自身で数える
+			rows[0]++;
+			return mapper.mapRow(r, n);
+		}, hints.withFetchSize(adaptiveFetchSize.fetchSize()));
+
+		return stream.onClose(() -> adaptiveFetchSize.record(rows[0]));
+	}
+
+	private <R> Stream<R> queryForStream(RowMapper<R> mapper, QueryHints hints) {
 		var startNanos = System.nanoTime();
 		try {
 			return helper.entry()
@@ -669,6 +699,7 @@ public class Atom<T> {
 					sqlComposite().compiled().sqlString(),
 					preparedStatementSetter,
 					mapper,
+					hints,
 					helper.snapshot());
 		} finally {
 			logElapsed(startNanos);
@@ -731,7 +762,7 @@ public class Atom<T> {
 	 * @return 内部に持つSQLが空文字列である場合、true
 	 */
 	public boolean isEmpty() {
-		return sql().isEmpty();
+		return sqlComposite().isEmpty();
 	}
 
 	private <E> Optional<E> get(List<E> list) {
@@ -933,8 +964,7 @@ public class Atom<T> {
 		for (int i = 0; i < atoms.length; i++) {
 			var atom = atoms[i];
 
-			var pattern = pattern(String.valueOf(i));
-			sql = sql.replace(pattern, atom.sqlComposite());
+			sql = sql.replace(String.valueOf(i), atom.sqlComposite());
 		}
 
 		return new Atom<T>(atomSql, helper, sql, true);
@@ -952,9 +982,7 @@ public class Atom<T> {
 	public Atom<T> implant(String keyword, Atom<?> atom) {
 		var sql = sqlComposite();
 
-		var pattern = pattern(Objects.requireNonNull(keyword));
-
-		return new Atom<T>(atomSql, helper, sql.replace(pattern, atom.sqlComposite()), true);
+		return new Atom<T>(atomSql, helper, sql.replace(Objects.requireNonNull(keyword), atom.sqlComposite()), true);
 	}
 
 	/**
@@ -971,17 +999,12 @@ public class Atom<T> {
 		atoms.entrySet().stream().forEach(e -> {
 			var atom = e.getValue();
 
-			var pattern = pattern(Objects.requireNonNull(e.getKey()));
-			sql[0] = sql[0].replace(pattern, atom.sqlComposite());
+			sql[0] = sql[0].replace(Objects.requireNonNull(e.getKey()), atom.sqlComposite());
 		});
 
 		return new Atom<T>(atomSql, helper, sql[0], true);
 	}
 
-	private static Pattern pattern(String keyword) {
-		return Pattern.compile("/\\*\\$\\{" + keyword + "\\}\\*/");
-	}
-
 	/**
 	 * 内部に持つSQL文の一部同士を" AND "をはさんで文字列結合します。<br>
 	 * このインスタンスかもう一方のもつSQLが空の場合、結合は行われず、SQLが空ではない側のインスタンスが返されます。<br>
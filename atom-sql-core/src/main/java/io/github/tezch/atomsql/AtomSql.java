@@ -6,21 +6,27 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -38,7 +44,10 @@ import io.github.tezch.atomsql.SqlComposite.Component;
 import io.github.tezch.atomsql.SqlComposite.Prototype;
 import io.github.tezch.atomsql.SqlComposite.SqlCompositeHelper;
 import io.github.tezch.atomsql.SqlComposite.Text;
+import io.github.tezch.atomsql.SqlComposite.Variable;
 import io.github.tezch.atomsql.annotation.DataObject;
+import io.github.tezch.atomsql.annotation.FetchSize;
+import io.github.tezch.atomsql.annotation.MaxRows;
 import io.github.tezch.atomsql.annotation.NoSqlLog;
 import io.github.tezch.atomsql.annotation.NonThreadSafe;
 import io.github.tezch.atomsql.annotation.Qualifier;
@@ -47,10 +56,11 @@ import io.github.tezch.atomsql.annotation.Sql;
 import io.github.tezch.atomsql.annotation.SqlFile;
 import io.github.tezch.atomsql.annotation.SqlProxy;
 import io.github.tezch.atomsql.annotation.processor.Methods;
+import io.github.tezch.atomsql.annotation.processor.ParameterBinder;
+import io.github.tezch.atomsql.annotation.processor.SqlPart;
 import io.github.tezch.atomsql.internal.AtomSqlUtils;
-import io.github.tezch.atomsql.internal.ColumnFinder;
-import io.github.tezch.atomsql.internal.PlaceholderFinder;
-import io.github.tezch.atomsql.internal.SqlMasker;
+import io.github.tezch.atomsql.internal.SqlPartFinder;
+import io.github.tezch.atomsql.internal.SqlPartFinder.PartConsumer;
 
 /**
  * Atom SQLの実行時の処理のほとんどを行うコアクラスです。<br>
@@ -64,11 +74,21 @@ public class AtomSql {
 	 */
 	public static final String METADATA_CLASS_SUFFIX = "$AtomSqlMetadata";
 
+	/**
+	 * {@link SqlProxy}実装クラスの名称サフィックス
+	 */
+	public static final String IMPLEMENTATION_CLASS_SUFFIX = "$AtomSqlImpl";
+
 	/**
 	 * {@link DataObject}メタ情報保持クラスの名称サフィックス
 	 */
 	public static final String DATA_OBJECT_METADATA_CLASS_SUFFIX = "$AtomSqlDataObjectMetadata";
 
+	/**
+	 * {@link DataObject}検索結果変換クラスの名称サフィックス
+	 */
+	public static final String DATA_OBJECT_MAPPER_CLASS_SUFFIX = "$AtomSqlDataObjectMapper";
+
 	/**
 	 * SQLファイル、その他Atom SQLで使用する入出力ファイルの文字コード
 	 */
@@ -135,6 +155,8 @@ public class AtomSql {
 
 	static final String moduleName = AtomSql.class.getModule().getName();
 
+	private static final SecureString.Factory secureStrings = SecureString.factory();
+
 	private final AtomSqlTypeFactory typeFactory;
 
 	private final SqlLogger sqlLogger;
@@ -240,12 +262,16 @@ public class AtomSql {
 		sqlLogger = SqlLogger.instance();
 		this.sqlServices = Objects.requireNonNull(sqlServices);
 		logStacktracePattern = logStacktracePattern(configuration());
+		invocations = new ConcurrentHashMap<>();
+		cache = cache();
+		columnPlans = cache();
 	}
 
 	/**
 	 * コピーコンストラクタです。<br>
 	 * baseと同じ接続先をもつ別インスタンスが生成されます。<br>
-	 * バッチの実施単位を分けたい場合などに使用します。
+	 * バッチの実施単位を分けたい場合などに使用します。<br>
+	 * {@link SqlProxy}情報のキャッシュはbaseと共有されます。
 	 * @param base コピー元
 	 */
 	public AtomSql(AtomSql base) {
@@ -253,6 +279,10 @@ public class AtomSql {
 		sqlLogger = base.sqlLogger;
 		this.sqlServices = base.sqlServices;
 		logStacktracePattern = logStacktracePattern(configuration());
+		//接続先が同じであるため、メソッドの呼び出し方法とキャッシュは共有する
+		invocations = base.invocations;
+		cache = base.cache;
+		columnPlans = base.columnPlans;
 	}
 
 	AtomSql() {
@@ -311,6 +341,10 @@ public class AtomSql {
 		});
 
 		logStacktracePattern = logStacktracePattern(config);
+		invocations = new ConcurrentHashMap<>();
+		cache = cache();
+		//検索は行えないため不要
+		columnPlans = null;
 	}
 
 	private static Optional<Pattern> logStacktracePattern(Configuration config) {
@@ -342,7 +376,9 @@ public class AtomSql {
 	}
 
 	/**
-	 * {@link SqlProxy}が付与されたインターフェイスから{@link Proxy}オブジェクトを作成します。
+	 * {@link SqlProxy}が付与されたインターフェイスから{@link Proxy}オブジェクトを作成します。<br>
+	 * processorにより実装クラスが生成されている場合、{@link Proxy}の代わりにそのクラスのインスタンスを返します。<br>
+	 * 作成されたオブジェクトはこのインスタンス内で保持され、同じインターフェイスに対しては同じオブジェクトを返します。
 	 * @see Proxy
 	 * @see SqlProxy
 	 * @param <T> 生成される{@link Proxy}の型
@@ -352,6 +388,17 @@ public class AtomSql {
 	 * @throws IllegalArgumentException proxyInterfaceに{@link SqlProxy}が付与されていない場合
 	 */
 	public <T> T of(Class<T> proxyInterface) {
+		//ロックを避けるため、まずはgetで取得を試みる
+		var instance = proxies.get(proxyInterface);
+		if (instance == null) instance = proxies.computeIfAbsent(proxyInterface, this::createProxy);
+
+		@SuppressWarnings("unchecked")
+		T proxy = (T) instance;
+
+		return proxy;
+	}
+
+	private Object createProxy(Class<?> proxyInterface) {
 		if (!proxyInterface.isInterface())
 			//proxyInterfaceはインターフェイスではありません
 			throw new IllegalArgumentException(proxyInterface + " is not interface");
@@ -360,133 +407,387 @@ public class AtomSql {
 			//アノテーションSqlProxyが見つかりません
 			throw new IllegalArgumentException("Annotation " + SqlProxy.class.getSimpleName() + " is not found");
 
-		@SuppressWarnings("unchecked")
-		T instance = (T) Proxy.newProxyInstance(
+		var implementation = implementations.get(proxyInterface);
+
+		if (implementation.isPresent()) {
+			try {
+				return implementation.get().newInstance(this);
+			} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		//実装クラスが生成されていない場合
+		return Proxy.newProxyInstance(
 			Thread.currentThread().getContextClassLoader(),
 			new Class<?>[] { proxyInterface },
-			this::invokeMethod);
-
-		return instance;
+			handler);
 	}
 
+	private final InvocationHandler handler = this::invokeMethod;
+
 	/**
-	 * このインスタンスが持つ{@link SqlProxy}情報のキャッシュをクリアします。
+	 * このインスタンスから作成された{@link SqlProxy}<br>
+	 * {@link SqlProxy}はこのインスタンスに紐づくため、コピーコンストラクタで作成されたインスタンスとは共有しない
 	 */
-	public void clearCache() {
-		synchronized (cache) {
-			cache.clear();
+	private final ConcurrentHashMap<Class<?>, Object> proxies = new ConcurrentHashMap<>();
+
+	/**
+	 * processorが生成した{@link SqlProxy}実装クラスのコンストラクタ
+	 */
+	private static final ClassValue<Optional<Constructor<?>>> implementations = new ClassValue<>() {
+
+		@Override
+		protected Optional<Constructor<?>> computeValue(Class<?> proxyInterface) {
+			try {
+				var implementation = Class.forName(
+					proxyInterface.getName() + IMPLEMENTATION_CLASS_SUFFIX,
+					true,
+					proxyInterface.getClassLoader());
+
+				return Optional.of(implementation.getConstructor(AtomSql.class));
+			} catch (ClassNotFoundException | NoSuchMethodException e) {
+				//古いprocessorで生成された場合等、実装クラスが無い場合はProxyを使用する
+				return Optional.empty();
+			}
 		}
-	}
+	};
 
-	private final int capacity = configuration().cacheCapacity();
+	/**
+	 * {@link SqlProxy}一覧ファイルに登録されている全ての{@link SqlProxy}について、SQLの読み込み、解析等の初回呼び出し時に行われる準備処理を事前に実施します。<br>
+	 * 準備処理は{@link SqlProxy}ごとに並列で実施されます。<br>
+	 * キャッシュを使用しない設定の場合、準備した内容を保持できないため何もしません。
+	 * @return {@link SqlProxy}ごとの準備処理に要した時間
+	 * @throws UncheckedIOException {@link SqlProxy}一覧ファイルの読み込みに失敗した場合
+	 */
+	public Map<Class<?>, Duration> preload() {
+		if (cache == null) return Collections.emptyMap();
 
-	private final ConcurrentHashMap<Method, Helpers> cache = cache();
+		List<Class<?>> proxyInterfaces;
+		try {
+			proxyInterfaces = AtomSqlUtils.loadProxyClasses();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 
-	private ConcurrentHashMap<Method, Helpers> cache() {
-		return capacity > 0 ? new ConcurrentHashMap<>() : null;
+		//メタ情報等の検索に使用されるため、呼び出し元のクラスローダーを並列処理側に引き継ぐ
+		var classLoader = Thread.currentThread().getContextClassLoader();
+
+		return proxyInterfaces.parallelStream().collect(
+			Collectors.toMap(
+				c -> c,
+				c -> {
+					var thread = Thread.currentThread();
+					var current = thread.getContextClassLoader();
+					thread.setContextClassLoader(classLoader);
+					try {
+						return preload(c);
+					} finally {
+						thread.setContextClassLoader(current);
+					}
+				},
+				(a, b) -> a,
+				LinkedHashMap::new));
 	}
 
-	private Object invokeMethod(Object proxy, Method method, Object[] args) throws Throwable {
-		if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+	private Duration preload(Class<?> proxyInterface) {
+		var start = System.nanoTime();
 
-		var returnType = method.getReturnType();
+		for (var method : proxyInterface.getDeclaredMethods()) {
+			if (method.isSynthetic() || Modifier.isStatic(method.getModifiers())) continue;
 
-		if (returnType.equals(AtomSql.class)) return AtomSql.this;
+			var invocation = invocations.computeIfAbsent(method, m -> createInvocation(proxyInterface, m));
 
-		if (returnType.isAnnotationPresent(SqlProxy.class)) return of(returnType);
+			switch (invocation.returnKind) {
+			case DEFAULT:
+			case ATOM_SQL:
+			case SQL_PROXY:
+				continue;
+			default:
+				cache.get(
+					method,
+					m -> helpers(proxyInterface, method, invocation.metadata, invocation.parameterBinderInfo));
+			}
+		}
 
-		var proxyInterface = proxy.getClass().getInterfaces()[0];
+		return Duration.ofNanos(System.nanoTime() - start);
+	}
 
-		var proxyName = proxyInterface.getName();
+	/**
+	 * このインスタンスが持つ{@link SqlProxy}情報のキャッシュをクリアします。<br>
+	 * 検索結果のカラム位置のキャッシュも同時にクリアされます。
+	 */
+	public void clearCache() {
+		if (cache != null) cache.clear();
+		if (columnPlans != null) columnPlans.clear();
+	}
 
-		var methods = Class.forName(
-			proxyName + METADATA_CLASS_SUFFIX,
-			true,
-			Thread.currentThread().getContextClassLoader()).getAnnotation(Methods.class);
+	/**
+	 * このインスタンスが持つ{@link SqlProxy}情報のキャッシュの統計情報を返します。<br>
+	 * コピーコンストラクタで作成されたインスタンスとはキャッシュを共有するため、統計情報も共通となります。
+	 * @return 統計情報
+	 */
+	public CacheStatistics cacheStatistics() {
+		return cache == null ? CacheStatistics.disabled : cache.statistics();
+	}
 
-		var methodName = method.getName();
+	private final BoundedCache<Method, Helpers> cache;
 
-		var metadata = Arrays.stream(methods.value())
-			.filter(
-				m -> m.name().equals(methodName) && Arrays.equals(method.getParameterTypes(), m.parameterTypes()))
-			.findFirst()
-			.get();
+	//検索結果の型とSQLごとの、カラム位置と型の対応
+	private final BoundedCache<ColumnPlan.Key, ColumnPlan> columnPlans;
 
-		var parameterBinderClass = metadata.parameterBinder();
+	private final ConcurrentHashMap<Method, Invocation> invocations;
 
-		// ParameterBinderを使用している場合、同じ処理を二度しないためスキャンした内容をhelper作成に引き渡す
-		Optional<ParameterBinderInfo> parameterBinderInfo;
-		Object[] computedValues;
-		if (!parameterBinderClass.equals(Object.class)) {
-			var parameterBinder = parameterBinderClass.getConstructor().newInstance();
+	private static <K, V> BoundedCache<K, V> cache() {
+		var capacity = configuration().cacheCapacity();
+		return capacity > 0 ? new BoundedCache<>(capacity) : null;
+	}
 
-			Consumer.class.getMethod("accept", Object.class).invoke(args[0], new Object[] { parameterBinder });
+	private Object invokeMethod(Object proxy, Method method, Object[] args) throws Throwable {
+		var invocation = invocation(proxy, method);
+
+		switch (invocation.returnKind) {
+		case DEFAULT:
+			return InvocationHandler.invokeDefault(proxy, method, args);
+		case ATOM_SQL:
+			return AtomSql.this;
+		case SQL_PROXY:
+			return of(invocation.returnType);
+		default:
+			break;
+		}
 
-			var values = new LinkedList<Object>();
+		var atom = atom(method, invocation, args);
 
-			var fields = Arrays.stream(parameterBinderClass.getFields()).toList();
+		switch (invocation.returnKind) {
+		case ATOM:
+			return atom;
+		case STREAM:
+			return atom.stream();
+		case LIST:
+			return atom.list();
+		case OPTIONAL:
+			return atom.get();
+		case EXECUTE:
+			return atom.execute();
+		case PROTOATOM:
+			return new Protoatom<>(atom, invocation.metadata.protoatomImplanter());
+		default:
+			//不正な戻り値の型
+			throw new IllegalStateException("Incorrect return type: " + invocation.returnType);
+		}
+	}
 
-			fields.forEach(f -> {
-				Object value;
-				try {
-					value = f.get(parameterBinder);
-				} catch (IllegalAccessException e) {
-					throw new IllegalStateException(e);
-				}
+	/**
+	 * {@link SqlProxy}のメソッドの呼び出しから、実行前の{@link Atom}を作成します。
+	 */
+	<T> Atom<T> atom(Method method, Invocation invocation, Object[] args) {
+		var metadata = invocation.metadata;
+
+		Object[] computedValues;
+		if (invocation.parameterBinder != null) {
+			var binder = invocation.parameterBinder;
 
-				values.add(value);
-			});
+			var parameterBinder = binder.factory.get();
 
-			computedValues = values.toArray(new Object[values.size()]);
+			@SuppressWarnings("unchecked")
+			var consumer = (Consumer<Object>) args[0];
 
-			parameterBinderInfo = Optional.of(new ParameterBinderInfo(fields, values));
+			consumer.accept(parameterBinder);
+
+			computedValues = binder.values(parameterBinder);
 		} else {
 			computedValues = args;
-
-			parameterBinderInfo = Optional.empty();
 		}
 
+		// ParameterBinderを使用している場合、同じ処理を二度しないためスキャンした内容をhelper作成に引き渡す
+		var parameterBinderInfo = invocation.parameterBinderInfo;
+
+		var proxyInterface = invocation.proxyInterface;
+
 		Helpers helpers;
 		if (cache == null) {//キャッシュを利用しない設定の場合
 			helpers = helpers(proxyInterface, method, metadata, parameterBinderInfo);
 		} else {
-			helpers = cache.computeIfAbsent(method, m -> helpers(proxyInterface, method, metadata, parameterBinderInfo));
-
-			if (cache.size() > capacity) {
-				//適当に1件削除
-				var it = cache.keySet().iterator();
-				if (it.hasNext()) {
-					it.next();
-					it.remove();
-				}
-			}
+			helpers = cache.get(method, m -> helpers(proxyInterface, method, metadata, parameterBinderInfo));
 		}
 
-		var atom = new Atom<Object>(
+		return new Atom<>(
 			AtomSql.this,
 			helpers.sqlProxyHelper,
 			SqlComposite.createSqlComposite(helpers.sqlCompositeHelper, computedValues, typeFactory),
 			true);
+	}
+
+	/**
+	 * {@link SqlProxy}のメソッドの呼び出し方法を取得します。<br>
+	 * メタ情報の検索等は初回のみ行い、以降はその結果を使用します。
+	 */
+	private Invocation invocation(Object proxy, Method method) {
+		//ロックを避けるため、まずはgetで取得を試みる
+		var invocation = invocations.get(method);
+		if (invocation != null) return invocation;
+
+		return invocations.computeIfAbsent(method, m -> createInvocation(proxy.getClass().getInterfaces()[0], m));
+	}
+
+	static Invocation createInvocation(Class<?> proxyInterface, Method method) {
+		var returnType = method.getReturnType();
+
+		if (method.isDefault())
+			return new Invocation(proxyInterface, null, ReturnKind.DEFAULT, returnType, null, Optional.empty());
+
+		if (returnType.equals(AtomSql.class))
+			return new Invocation(proxyInterface, null, ReturnKind.ATOM_SQL, returnType, null, Optional.empty());
+
+		if (returnType.isAnnotationPresent(SqlProxy.class))
+			return new Invocation(proxyInterface, null, ReturnKind.SQL_PROXY, returnType, null, Optional.empty());
+
+		Methods methods;
+		try {
+			methods = Class.forName(
+				proxyInterface.getName() + METADATA_CLASS_SUFFIX,
+				true,
+				Thread.currentThread().getContextClassLoader()).getAnnotation(Methods.class);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+
+		var methodName = method.getName();
+		var parameterTypes = method.getParameterTypes();
+
+		var metadata = Arrays.stream(methods.value())
+			.filter(m -> m.name().equals(methodName) && Arrays.equals(parameterTypes, m.parameterTypes()))
+			.findFirst()
+			.get();
 
+		var parameterBinderClass = metadata.parameterBinder();
+
+		ParameterBinderPlan parameterBinder;
+		if (!parameterBinderClass.equals(Object.class)) {
+			parameterBinder = parameterBinderPlan(parameterBinderClass);
+		} else {
+			parameterBinder = null;
+		}
+
+		return new Invocation(
+			proxyInterface,
+			metadata,
+			returnKind(returnType),
+			returnType,
+			parameterBinder,
+			Optional.ofNullable(parameterBinder).map(b -> new ParameterBinderInfo(b.fields)));
+	}
+
+	private static ParameterBinderPlan parameterBinderPlan(Class<?> parameterBinderClass) {
+		try {
+			if (!ParameterBinder.class.isAssignableFrom(parameterBinderClass)) {
+				//古いprocessorで生成された場合、コンストラクタで生成し、フィールドから直接値を取得する
+				var constructor = parameterBinderClass.getConstructor();
+				Supplier<Object> factory = () -> {
+					try {
+						return constructor.newInstance();
+					} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+						throw new IllegalStateException(e);
+					}
+				};
+
+				return new ParameterBinderPlan(factory, Arrays.stream(parameterBinderClass.getFields()).toList(), false);
+			}
+
+			//生成されたクラスが提供するSupplierを、メソッドごとに一度だけ取得する
+			@SuppressWarnings("unchecked")
+			var factory = (Supplier<Object>) parameterBinderClass.getMethod(ParameterBinder.FACTORY_METHOD_NAME).invoke(null);
+
+			//生成されたクラス自身が持つ順序でフィールドを並べる
+			var names = ((ParameterBinder) factory.get()).names();
+
+			var fields = new ArrayList<Field>(names.length);
+			for (var name : names) {
+				fields.add(parameterBinderClass.getField(name));
+			}
+
+			return new ParameterBinderPlan(factory, Collections.unmodifiableList(fields), true);
+		} catch (NoSuchMethodException | NoSuchFieldException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static ReturnKind returnKind(Class<?> returnType) {
 		if (returnType.equals(Atom.class)) {
-			return atom;
+			return ReturnKind.ATOM;
 		} else if (returnType.equals(Stream.class)) {
-			return atom.stream();
+			return ReturnKind.STREAM;
 		} else if (returnType.equals(List.class)) {
-			return atom.list();
+			return ReturnKind.LIST;
 		} else if (returnType.equals(Optional.class)) {
-			return atom.get();
+			return ReturnKind.OPTIONAL;
 		} else if (returnType.equals(int.class) || returnType.equals(void.class)) {
-			return atom.execute();
+			return ReturnKind.EXECUTE;
 		} else if (returnType.equals(Protoatom.class)) {
-			return new Protoatom<>(atom, metadata.protoatomImplanter());
-		} else {
-			//不正な戻り値の型
-			throw new IllegalStateException("Incorrect return type: " + returnType);
+			return ReturnKind.PROTOATOM;
+		}
+
+		//不正な戻り値の型は実行時に例外とする
+		return ReturnKind.INCORRECT;
+	}
+
+	/**
+	 * {@link SqlProxy}のメソッドの戻り値の型による処理の種類
+	 */
+	private static enum ReturnKind {
+
+		DEFAULT,
+
+		ATOM_SQL,
+
+		SQL_PROXY,
+
+		ATOM,
+
+		STREAM,
+
+		LIST,
+
+		OPTIONAL,
+
+		EXECUTE,
+
+		PROTOATOM,
+
+		INCORRECT;
+	}
+
+	/**
+	 * メソッドごとに一度だけ解決される、呼び出しに必要な情報
+	 */
+	static record Invocation(
+		Class<?> proxyInterface,
+		io.github.tezch.atomsql.annotation.processor.Method metadata,
+		ReturnKind returnKind,
+		Class<?> returnType,
+		ParameterBinderPlan parameterBinder,
+		Optional<ParameterBinderInfo> parameterBinderInfo) {}
+
+	private static record ParameterBinderPlan(Supplier<Object> factory, List<Field> fields, boolean generated) {
+
+		private Object[] values(Object parameterBinder) {
+			if (generated) return ((ParameterBinder) parameterBinder).values();
+
+			var values = new Object[fields.size()];
+			for (int i = 0; i < values.length; i++) {
+				try {
+					values[i] = fields.get(i).get(parameterBinder);
+				} catch (IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+
+			return values;
 		}
 	}
 
-	private static record ParameterBinderInfo(List<Field> fields, List<Object> values) {}
+	private static record ParameterBinderInfo(List<Field> fields) {}
 
 	private Helpers helpers(
 		Class<?> proxyInterface,
@@ -535,11 +836,19 @@ public class AtomSql {
 				});
 		}
 
-		SecureString sql;
-		try {
-			sql = loadSql(proxyInterface, method);
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
+		Consumer<PartConsumer> sqlParts;
+		if (metadata.sql().length > 0) {
+			//アノテーションプロセッサで解析済みの場合、SQLの読み込みと解析は行わない
+			sqlParts = consumer -> sqlParts(metadata.sql(), consumer);
+		} else {
+			SecureString sql;
+			try {
+				sql = loadSql(proxyInterface, method);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			sqlParts = consumer -> SqlPartFinder.execute(sql.toString(), consumer);
 		}
 
 		var conf = configuration();
@@ -623,7 +932,7 @@ public class AtomSql {
 			var fieldNames = names.toArray(String[]::new);
 
 			sqlCompositeHelper = sqlCompositeHelper(
-				sql,
+				sqlParts,
 				sensitives,
 				fieldNames,
 				types.toArray(AtomSqlType[]::new),
@@ -632,7 +941,7 @@ public class AtomSql {
 			var types = Arrays.stream(metadata.parameterTypes()).map(c -> typeFactory.select(c)).toArray(AtomSqlType[]::new);
 
 			sqlCompositeHelper = sqlCompositeHelper(
-				sql,
+				sqlParts,
 				sensitives,
 				parameterNames,
 				types,
@@ -642,12 +951,18 @@ public class AtomSql {
 		//メソッドに付与されたアノテーション > クラスに付与されたアノテーション
 		var nameAnnotation = qualifier(method).or(() -> qualifier(proxyInterface));
 
+		var fetchSize = annotation(method, proxyInterface, FetchSize.class).map(FetchSize::value).orElse(0);
+		var maxRows = annotation(method, proxyInterface, MaxRows.class).map(MaxRows::value).orElse(0);
+
 		SqlProxyHelper sqlProxyHelper = new SqlProxyHelper(
 			nameAnnotation.map(a -> sqlServices.get(a.value())).orElseGet(() -> sqlServices.get()),
 			metadata.result(),
 			typeFactory,
+			columnPlans,
 			mySqlLogger,
-			snapshot);
+			snapshot,
+			new QueryHints(fetchSize, maxRows),
+			conf.adaptiveFetchSize() ? new AdaptiveFetchSize() : null);
 
 		return new Helpers(sqlProxyHelper, sqlCompositeHelper);
 	}
@@ -655,22 +970,15 @@ public class AtomSql {
 	private static record Helpers(SqlProxyHelper sqlProxyHelper, SqlCompositeHelper sqlCompositeHelper) {}
 
 	/**
-	 * SQLからカラムの型ヒントを除去
-	 * @param maskedSql 元のSQL({@link SqlMasker}でマスク済みであること)
+	 * メソッドに付与されたアノテーション > クラスに付与されたアノテーション
 	 */
-	private static String normalize(String maskedSql) {
-		var list = new LinkedList<String>();
-		list.add(ColumnFinder.execute(maskedSql, f -> {
-			list.add(f.gap);
-			list.add(f.column);
-			list.add(f.doubleQuote);
-		}));
-
-		return String.join("", list);
+	private static <A extends Annotation> Optional<A> annotation(Method method, Class<?> proxyInterface, Class<A> annotationClass) {
+		return Optional.ofNullable(method.getAnnotation(annotationClass))
+			.or(() -> Optional.ofNullable(proxyInterface.getAnnotation(annotationClass)));
 	}
 
 	private static SqlCompositeHelper sqlCompositeHelper(
-		SecureString secureSql,
+		Consumer<PartConsumer> parts,
 		Set<String> sensitives,
 		String[] parameterNames,
 		AtomSqlType[] parameterTypes,
@@ -680,31 +988,80 @@ public class AtomSql {
 			map.put(parameterNames[i], parameterTypes[i]);
 		}
 
-		var masker = new SqlMasker();
+		var builder = new ComponentsBuilder(sensitives, map);
 
-		var maskedSql = masker.mask(secureSql.toString());
+		parts.accept(builder);
 
-		List<Component> components = new ArrayList<>();
+		return new SqlCompositeHelper(builder.build(), parameterNames, containsNonThreadSafeValue);
+	}
 
-		maskedSql = normalize(maskedSql);
+	/**
+	 * アノテーションプロセッサで解析済みのSQLの部品を渡す
+	 */
+	private static void sqlParts(SqlPart[] sqlParts, PartConsumer consumer) {
+		for (var part : sqlParts) {
+			switch (part.type()) {
+			case TEXT -> consumer.text(part.value());
+			case PLACEHOLDER -> consumer.placeholder(part.value(), part.original());
+			case VARIABLE -> consumer.variable(part.value(), part.original());
+			}
+		}
+	}
+
+	/**
+	 * SQLの部品から{@link Component}を組み立てる<br>
+	 * 連続するテキストは一つにまとめる
+	 */
+	private static class ComponentsBuilder implements PartConsumer {
 
-		var sqlRemain = PlaceholderFinder.execute(maskedSql, f -> {
-			components.add(new Text(new SecureString(masker.unmask(f.gap))));
+		private final List<Component> components = new ArrayList<>();
 
-			if (!map.containsKey(f.placeholder))
-				throw new PlaceholderNotFoundException(f.placeholder);
+		private final StringBuilder text = new StringBuilder();
 
-			components.add(
-				new Prototype(
-					f.placeholder,
-					sensitives.contains(f.placeholder),
-					f.all,
-					map.get(f.placeholder)));
-		});
+		private final Set<String> sensitives;
+
+		private final Map<String, AtomSqlType> types;
+
+		private ComponentsBuilder(Set<String> sensitives, Map<String, AtomSqlType> types) {
+			this.sensitives = sensitives;
+			this.types = types;
+		}
+
+		@Override
+		public void text(String text) {
+			this.text.append(text);
+		}
+
+		@Override
+		public void placeholder(String name, String original) {
+			if (!types.containsKey(name))
+				throw new PlaceholderNotFoundException(name);
 
-		components.add(new Text(new SecureString(masker.unmask(sqlRemain))));
+			flush();
 
-		return new SqlCompositeHelper(components, parameterNames, containsNonThreadSafeValue);
+			components.add(new Prototype(name, sensitives.contains(name), original, types.get(name)));
+		}
+
+		@Override
+		public void variable(String name, String original) {
+			flush();
+
+			components.add(new Variable(name, secureStrings.create(original)));
+		}
+
+		private List<Component> build() {
+			//末尾のテキストは空でも必ず追加する
+			components.add(new Text(secureStrings.create(text.toString())));
+
+			return components;
+		}
+
+		private void flush() {
+			if (text.length() == 0) return;
+
+			components.add(new Text(secureStrings.create(text.toString())));
+			text.setLength(0);
+		}
 	}
 
 	/**
@@ -912,6 +1269,7 @@ public class AtomSql {
 			sqlServices.get(),
 			Object.class,
 			typeFactory,
+			columnPlans,
 			sqlLogger,
 			new SqlProxySnapshot() {
 
@@ -939,14 +1297,17 @@ public class AtomSql {
 				public <T extends Annotation> T getClassAnnotation(Class<T> annotationClass) {
 					throw new UnsupportedOperationException();
 				}
-			});
+			},
+			QueryHints.NONE,
+			//メソッドに属さないため、件数の記録は行わない
+			null);
 	}
 
 	SqlComposite sqlComposite(SecureString sql) {
 		return SqlComposite.createSqlComposite(
 			sqlCompositeHelper(
-				sql,
-				null,
+				consumer -> SqlPartFinder.execute(sql.toString(), consumer),
+				Set.of(),
 				emptyStringArray,
 				emptyAtomSqlTypeArray,
 				false),
@@ -958,11 +1319,34 @@ public class AtomSql {
 		SqlServices.Entry entry,
 		Class<?> resultClass,
 		AtomSqlTypeFactory typeFactory,
+		BoundedCache<ColumnPlan.Key, ColumnPlan> columnPlans,
 		SqlLogger sqlLogger,
-		SqlProxySnapshot snapshot) {
+		SqlProxySnapshot snapshot,
+		QueryHints queryHints,
+		AdaptiveFetchSize adaptiveFetchSize) {
 
 		static SqlProxyHelper newHelper(SqlProxyHelper base, Class<?> resultClass) {
-			return new SqlProxyHelper(base.entry, resultClass, base.typeFactory, base.sqlLogger, base.snapshot);
+			return new SqlProxyHelper(
+				base.entry,
+				resultClass,
+				base.typeFactory,
+				base.columnPlans,
+				base.sqlLogger,
+				base.snapshot,
+				base.queryHints,
+				base.adaptiveFetchSize);
+		}
+
+		static SqlProxyHelper newHelper(SqlProxyHelper base, QueryHints queryHints) {
+			return new SqlProxyHelper(
+				base.entry,
+				base.resultClass,
+				base.typeFactory,
+				base.columnPlans,
+				base.sqlLogger,
+				base.snapshot,
+				queryHints,
+				base.adaptiveFetchSize);
 		}
 	}
 
@@ -978,7 +1362,7 @@ public class AtomSql {
 
 		var sqlContainer = method.getAnnotation(Sql.class);
 		if (sqlContainer != null) {
-			return new SecureString(sqlContainer.value());
+			return secureStrings.create(sqlContainer.value());
 		}
 
 		var sqlFile = method.getAnnotation(SqlFile.class);
@@ -998,6 +1382,6 @@ public class AtomSql {
 			//sqlFileNameが見つかりませんでした
 			throw new IllegalStateException(sqlFileName + " was not found");
 
-		return new SecureString(new String(AtomSqlUtils.readBytes(url.openStream()), CHARSET));
+		return secureStrings.create(new String(AtomSqlUtils.readBytes(url.openStream()), CHARSET));
 	}
 }
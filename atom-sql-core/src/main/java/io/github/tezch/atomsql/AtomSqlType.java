@@ -46,6 +46,54 @@ public interface AtomSqlType {
 	 */
 	Object get(ResultSet rs, int columnIndex) throws SQLException;
 
+	/**
+	 * {@link ResultSet}からintの値を取得します。<br>
+	 * intを表す型では、ボクシングを行わずに値を取得するようにオーバーライドします。
+	 * @param rs
+	 * @param columnIndex
+	 * @return 値
+	 * @throws SQLException
+	 */
+	default int getInt(ResultSet rs, int columnIndex) throws SQLException {
+		return (int) get(rs, columnIndex);
+	}
+
+	/**
+	 * {@link ResultSet}からlongの値を取得します。<br>
+	 * longを表す型では、ボクシングを行わずに値を取得するようにオーバーライドします。
+	 * @param rs
+	 * @param columnIndex
+	 * @return 値
+	 * @throws SQLException
+	 */
+	default long getLong(ResultSet rs, int columnIndex) throws SQLException {
+		return (long) get(rs, columnIndex);
+	}
+
+	/**
+	 * {@link ResultSet}からdoubleの値を取得します。<br>
+	 * doubleを表す型では、ボクシングを行わずに値を取得するようにオーバーライドします。
+	 * @param rs
+	 * @param columnIndex
+	 * @return 値
+	 * @throws SQLException
+	 */
+	default double getDouble(ResultSet rs, int columnIndex) throws SQLException {
+		return (double) get(rs, columnIndex);
+	}
+
+	/**
+	 * {@link ResultSet}からbooleanの値を取得します。<br>
+	 * booleanを表す型では、ボクシングを行わずに値を取得するようにオーバーライドします。
+	 * @param rs
+	 * @param columnIndex
+	 * @return 値
+	 * @throws SQLException
+	 */
+	default boolean getBoolean(ResultSet rs, int columnIndex) throws SQLException {
+		return (boolean) get(rs, columnIndex);
+	}
+
 	/**
 	 * この型が型パラメータで使用される場合の代替型を返します。<br>
 	 * 主にプリミティブな型がラッパークラスの型に変換するために使用します。
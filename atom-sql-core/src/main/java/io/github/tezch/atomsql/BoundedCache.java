@@ -0,0 +1,143 @@
+package io.github.tezch.atomsql;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 最大件数を持つスレッドセーフなキャッシュです。<br>
+ * 最大件数を超えた場合、参照頻度の低いものから削除します。<br>
+ * 削除対象の選定は、参照の都度加算される頻度を巡回しながら半減させ、0になったものを削除する方式（GCLOCK）で行います。
+ * @author tezch
+ * @param <K> キー
+ * @param <V> 値
+ */
+class BoundedCache<K, V> {
+
+	//頻度の上限 巡回4回で0になる
+	private static final int maxFrequency = 15;
+
+	private final int capacity;
+
+	private final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	//削除対象を探す巡回位置
+	private Iterator<Entry<K, Node<V>>> hand;
+
+	BoundedCache(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * キーに対応する値を返します。<br>
+	 * 存在しない場合、loaderで作成した値を格納して返します。
+	 */
+	V get(K key, Function<K, V> loader) {
+		var node = map.get(key);
+		if (node != null) {
+			hits.increment();
+			node.touch();
+			return node.value;
+		}
+
+		misses.increment();
+
+		node = map.computeIfAbsent(key, k -> new Node<>(loader.apply(k)));
+
+		if (map.size() > capacity) evict();
+
+		return node.value;
+	}
+
+	/**
+	 * キーに対応する値を返します。<br>
+	 * 存在しない場合、nullを返します。
+	 */
+	V get(K key) {
+		var node = map.get(key);
+		if (node == null) {
+			misses.increment();
+			return null;
+		}
+
+		hits.increment();
+		node.touch();
+		return node.value;
+	}
+
+	/**
+	 * 値を格納します。<br>
+	 * 既に値が存在する場合、置き換えます。
+	 */
+	void put(K key, V value) {
+		map.put(key, new Node<>(value));
+
+		if (map.size() > capacity) evict();
+	}
+
+	void clear() {
+		map.clear();
+	}
+
+	CacheStatistics statistics() {
+		return new CacheStatistics(capacity, map.size(), hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	private void evict() {
+		//他のスレッドが削除中であれば任せる
+		if (!evictionLock.tryLock()) return;
+
+		try {
+			while (map.size() > capacity) {
+				if (hand == null || !hand.hasNext()) {
+					hand = map.entrySet().iterator();
+
+					if (!hand.hasNext()) return;
+				}
+
+				var entry = hand.next();
+				var node = entry.getValue();
+
+				var frequency = node.frequency;
+				if (frequency > 0) {
+					//参照されているものは頻度を半減させて見逃す
+					node.frequency = frequency >> 1;
+					continue;
+				}
+
+				if (map.remove(entry.getKey(), node)) evictions.increment();
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private static class Node<V> {
+
+		private final V value;
+
+		//厳密さは必要ないので、競合による加算漏れは許容する
+		//追加直後の要素が次の巡回で即座に削除されないよう、1から開始する
+		private volatile int frequency = 1;
+
+		private Node(V value) {
+			this.value = value;
+		}
+
+		private void touch() {
+			var current = frequency;
+			if (current < maxFrequency) frequency = current + 1;
+		}
+	}
+}
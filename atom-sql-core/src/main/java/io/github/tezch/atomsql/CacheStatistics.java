@@ -0,0 +1,30 @@
+package io.github.tezch.atomsql;
+
+import io.github.tezch.atomsql.annotation.SqlProxy;
+
+/**
+ * {@link AtomSql}が持つ{@link SqlProxy}情報のキャッシュや、{@link JdbcSqlService}が持つ{@link java.sql.PreparedStatement}のキャッシュの統計情報です。
+ * @author tezch
+ * @param capacity キャッシュの最大値
+ * @param size 現在の件数
+ * @param hitCount キャッシュに存在した回数
+ * @param missCount キャッシュに存在せず作成した回数
+ * @param evictionCount 最大値を超えたため削除した件数
+ */
+public record CacheStatistics(int capacity, int size, long hitCount, long missCount, long evictionCount) {
+
+	/**
+	 * キャッシュを使用しない場合の統計情報
+	 */
+	static final CacheStatistics disabled = new CacheStatistics(0, 0, 0, 0, 0);
+
+	/**
+	 * ヒット率を返します。<br>
+	 * 一度も参照されていない場合、1を返します。
+	 * @return ヒット率
+	 */
+	public double hitRate() {
+		var requestCount = hitCount + missCount;
+		return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+	}
+}
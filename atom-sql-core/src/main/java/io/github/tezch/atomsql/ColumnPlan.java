@@ -0,0 +1,117 @@
+package io.github.tezch.atomsql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * 検索結果から{@link io.github.tezch.atomsql.annotation.DataObject}の値を取得するための、カラム位置と{@link AtomSqlType}の対応です。<br>
+ * 検索ごとに{@link ResultSetMetaData}と照合し、同じ検索結果の型とSQLであれば以前の検索で作成したものを再利用します。<br>
+ * 検索結果のカラム構成が作成時と異なる場合は作成し直します。
+ * @author tezch
+ * @param resultSetColumns 作成時の検索結果のカラムラベル
+ * @param columnIndexes 対象のカラム位置 SELECT句に存在しない{@link io.github.tezch.atomsql.annotation.OptionalColumn}の場合、0
+ * @param types 対象の値を取得する{@link AtomSqlType}
+ */
+record ColumnPlan(String[] resultSetColumns, int[] columnIndexes, AtomSqlType[] types) {
+
+	/**
+	 * キャッシュのキー
+	 * @param resultClass 検索結果の型
+	 * @param sql 実行されたSQL
+	 * @param generated processorが生成した{@link io.github.tezch.atomsql.annotation.processor.DataObjectMapper}の取得対象の場合、true
+	 */
+	static record Key(Class<?> resultClass, String sql, boolean generated) {}
+
+	/**
+	 * 値の取得対象
+	 * @param columns カラム名
+	 * @param types {@link AtomSqlType}を選択するための型
+	 * @param optionalColumns {@link io.github.tezch.atomsql.annotation.OptionalColumn}が付与されている場合、true
+	 */
+	static record Target(String[] columns, Class<?>[] types, boolean[] optionalColumns) {}
+
+	/**
+	 * 現在の検索結果に対応する{@link ColumnPlan}を返します。
+	 * @param cache キャッシュ キャッシュを使用しない場合、null
+	 * @param key キャッシュのキー
+	 * @param rs 検索結果
+	 * @param target 値の取得対象
+	 * @param typeFactory {@link AtomSqlTypeFactory}
+	 * @return {@link ColumnPlan}
+	 * @throws SQLException カラム情報の取得に失敗した場合
+	 */
+	static ColumnPlan of(
+		BoundedCache<Key, ColumnPlan> cache,
+		Key key,
+		ResultSet rs,
+		Target target,
+		AtomSqlTypeFactory typeFactory) throws SQLException {
+		var metaData = rs.getMetaData();
+		var resultSetColumns = resultSetColumns(metaData);
+
+		if (cache == null) return create(resultSetColumns, rs, metaData, target, typeFactory);
+
+		var plan = cache.get(key);
+
+		//カラム構成が変わっていない場合のみ再利用する
+		if (plan != null && Arrays.equals(plan.resultSetColumns, resultSetColumns)) return plan;
+
+		plan = create(resultSetColumns, rs, metaData, target, typeFactory);
+		cache.put(key, plan);
+
+		return plan;
+	}
+
+	private static String[] resultSetColumns(ResultSetMetaData metaData) throws SQLException {
+		var count = metaData.getColumnCount();
+		var columns = new String[count];
+		for (int i = 0; i < count; i++) {
+			columns[i] = metaData.getColumnLabel(i + 1);
+		}
+
+		return columns;
+	}
+
+	private static ColumnPlan create(
+		String[] resultSetColumns,
+		ResultSet rs,
+		ResultSetMetaData metaData,
+		Target target,
+		AtomSqlTypeFactory typeFactory) throws SQLException {
+		var columns = target.columns;
+		var optionalColumns = target.optionalColumns;
+
+		var columnIndexes = new int[columns.length];
+
+		HashSet<String> resultSetColumnNames = null;
+		for (int i = 0; i < columns.length; i++) {
+			var column = columns[i];
+
+			if (optionalColumns[i]) {
+				if (resultSetColumnNames == null) resultSetColumnNames = columnNames(metaData);
+
+				//OptionalColumnで、SELECT句にカラムがない場合
+				if (!resultSetColumnNames.contains(column.toUpperCase())) continue;
+			}
+
+			columnIndexes[i] = rs.findColumn(column);
+		}
+
+		var types = Arrays.stream(target.types).map(typeFactory::select).toArray(AtomSqlType[]::new);
+
+		return new ColumnPlan(resultSetColumns, columnIndexes, types);
+	}
+
+	private static HashSet<String> columnNames(ResultSetMetaData metaData) throws SQLException {
+		var count = metaData.getColumnCount();
+		var names = new HashSet<String>(count * 2);
+		for (int i = 1; i <= count; i++) {
+			names.add(metaData.getColumnName(i).toUpperCase());
+		}
+
+		return names;
+	}
+}
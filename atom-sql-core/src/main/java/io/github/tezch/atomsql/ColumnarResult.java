@@ -0,0 +1,399 @@
+package io.github.tezch.atomsql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 検索結果を、行ごとのオブジェクトではなくカラムごとの配列として保持するクラスです。<br>
+ * 数値、真偽値のカラムはプリミティブ型の配列に、それ以外のカラムは{@link Object}の配列に格納されます。<br>
+ * カラムの型は{@link ResultSetMetaData}のSQL型から選択された{@link AtomSqlType}となります。<br>
+ * 大量の行を集計する場合等、{@link io.github.tezch.atomsql.annotation.DataObject}を行ごとに作成するよりも少ないメモリで保持することが可能です。
+ * @see Atom#columns()
+ * @author tezch
+ */
+public class ColumnarResult {
+
+	private final int size;
+
+	private final List<Column> columns;
+
+	private final Map<String, Column> columnMap;
+
+	private ColumnarResult(int size, List<Column> columns) {
+		this.size = size;
+		this.columns = Collections.unmodifiableList(columns);
+
+		var columnMap = new LinkedHashMap<String, Column>();
+		//同名のカラムが存在する場合、先のものを使用する
+		columns.forEach(c -> columnMap.putIfAbsent(c.name.toUpperCase(), c));
+
+		this.columnMap = columnMap;
+	}
+
+	/**
+	 * 検索結果の、現在の行より後の全行を読み込み、{@link ColumnarResult}を作成します。<br>
+	 * カラムは{@link ResultSetMetaData}から作成されるため、検索結果が0件の場合もカラム名と格納形式を持ちます。
+	 * @param rs 検索結果
+	 * @return {@link ColumnarResult}
+	 * @throws SQLException 読み込みに失敗した場合
+	 */
+	public static ColumnarResult of(ResultSet rs) throws SQLException {
+		var reader = new Reader(rs.getMetaData());
+		while (rs.next()) {
+			reader.read(rs);
+		}
+
+		return reader.result();
+	}
+
+	/**
+	 * 行数を返します。
+	 * @return 行数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 全カラムを、検索結果の順序で返します。
+	 * @return カラム
+	 */
+	public List<Column> columns() {
+		return columns;
+	}
+
+	/**
+	 * カラムを返します。
+	 * @param index 0から始まるカラムの位置
+	 * @return カラム
+	 */
+	public Column column(int index) {
+		return columns.get(index);
+	}
+
+	/**
+	 * カラムを返します。<br>
+	 * カラム名の大文字小文字は区別されません。
+	 * @param name カラム名
+	 * @return カラム
+	 * @throws IllegalArgumentException カラムが存在しない場合
+	 */
+	public Column column(String name) {
+		var column = columnMap.get(name.toUpperCase());
+		if (column == null) throw new IllegalArgumentException("Column [" + name + "] not found");
+
+		return column;
+	}
+
+	/**
+	 * 値の格納形式
+	 */
+	public static enum Kind {
+
+		/**
+		 * int[]
+		 */
+		INT,
+
+		/**
+		 * long[]
+		 */
+		LONG,
+
+		/**
+		 * double[]
+		 */
+		DOUBLE,
+
+		/**
+		 * boolean[]
+		 */
+		BOOLEAN,
+
+		/**
+		 * Object[]
+		 */
+		OBJECT;
+	}
+
+	/**
+	 * 一カラム分の値を保持するクラスです。<br>
+	 * プリミティブ型の配列に格納されるカラムの場合、nullであるかは{@link #isNull(int)}で判定します。
+	 */
+	public static class Column {
+
+		private final String name;
+
+		private final AtomSqlType type;
+
+		private final Kind kind;
+
+		private final Object values;
+
+		private final long[] nulls;
+
+		private Column(String name, AtomSqlType type, Kind kind, Object values, long[] nulls) {
+			this.name = name;
+			this.type = type;
+			this.kind = kind;
+			this.values = values;
+			this.nulls = nulls;
+		}
+
+		/**
+		 * カラム名を返します。
+		 * @return カラム名
+		 */
+		public String name() {
+			return name;
+		}
+
+		/**
+		 * 値の取得に使用した{@link AtomSqlType}を返します。
+		 * @return {@link AtomSqlType}
+		 */
+		public AtomSqlType type() {
+			return type;
+		}
+
+		/**
+		 * 値の格納形式を返します。
+		 * @return {@link Kind}
+		 */
+		public Kind kind() {
+			return kind;
+		}
+
+		/**
+		 * 行の値がnullであるかを返します。
+		 * @param row 0から始まる行の位置
+		 * @return nullの場合、true
+		 */
+		public boolean isNull(int row) {
+			if (nulls == null) return ((Object[]) values)[row] == null;
+
+			return (nulls[row >>> 6] & (1L << row)) != 0;
+		}
+
+		/**
+		 * 全行の値を返します。<br>
+		 * nullの行には0が格納されています。
+		 * @return 値
+		 * @throws IllegalStateException 格納形式が{@link Kind#INT}ではない場合
+		 */
+		public int[] ints() {
+			return (int[]) values(Kind.INT);
+		}
+
+		/**
+		 * 全行の値を返します。<br>
+		 * nullの行には0が格納されています。
+		 * @return 値
+		 * @throws IllegalStateException 格納形式が{@link Kind#LONG}ではない場合
+		 */
+		public long[] longs() {
+			return (long[]) values(Kind.LONG);
+		}
+
+		/**
+		 * 全行の値を返します。<br>
+		 * nullの行には0が格納されています。
+		 * @return 値
+		 * @throws IllegalStateException 格納形式が{@link Kind#DOUBLE}ではない場合
+		 */
+		public double[] doubles() {
+			return (double[]) values(Kind.DOUBLE);
+		}
+
+		/**
+		 * 全行の値を返します。<br>
+		 * nullの行にはfalseが格納されています。
+		 * @return 値
+		 * @throws IllegalStateException 格納形式が{@link Kind#BOOLEAN}ではない場合
+		 */
+		public boolean[] booleans() {
+			return (boolean[]) values(Kind.BOOLEAN);
+		}
+
+		/**
+		 * 全行の値を返します。
+		 * @return 値
+		 * @throws IllegalStateException 格納形式が{@link Kind#OBJECT}ではない場合
+		 */
+		public Object[] objects() {
+			return (Object[]) values(Kind.OBJECT);
+		}
+
+		private Object values(Kind required) {
+			if (kind != required) throw new IllegalStateException("Column [" + name + "] is " + kind);
+
+			return values;
+		}
+
+		@Override
+		public String toString() {
+			return name + ": " + type.typeHint();
+		}
+	}
+
+	/**
+	 * {@link ResultSet}から一行ずつ値を読み込み、{@link ColumnarResult}を作成します。
+	 */
+	static class Reader {
+
+		//配列の初期サイズ 以降、不足するたびに倍にする
+		private static final int initialCapacity = 64;
+
+		private ColumnReader[] readers;
+
+		private int size;
+
+		private int capacity;
+
+		/**
+		 * 最初の行からカラムを作成します。<br>
+		 * 検索結果が0件の場合、カラムを持たない{@link ColumnarResult}となります。
+		 */
+		Reader() {}
+
+		/**
+		 * {@link ResultSetMetaData}からカラムを作成します。
+		 */
+		Reader(ResultSetMetaData metaData) throws SQLException {
+			readers = readers(metaData);
+		}
+
+		/**
+		 * 現在の行を読み込みます。
+		 */
+		void read(ResultSet rs) throws SQLException {
+			if (readers == null) readers = readers(rs.getMetaData());
+
+			if (size == capacity) {
+				capacity = capacity == 0 ? initialCapacity : capacity << 1;
+				for (var reader : readers) {
+					reader.grow(capacity);
+				}
+			}
+
+			for (var reader : readers) {
+				reader.read(rs, size);
+			}
+
+			size++;
+		}
+
+		ColumnarResult result() {
+			if (readers == null) return new ColumnarResult(0, List.of());
+
+			return new ColumnarResult(size, Arrays.stream(readers).map(r -> r.column(size)).toList());
+		}
+
+		private static ColumnReader[] readers(ResultSetMetaData metaData) throws SQLException {
+			var count = metaData.getColumnCount();
+			var readers = new ColumnReader[count];
+			for (var i = 0; i < count; i++) {
+				var columnIndex = i + 1;
+				readers[i] = new ColumnReader(columnIndex, metaData.getColumnLabel(columnIndex), type(metaData.getColumnType(columnIndex)));
+			}
+
+			return readers;
+		}
+
+		private static DefaultAtomSqlType type(int sqlType) {
+			return switch (sqlType) {
+			case Types.BIT, Types.BOOLEAN -> DefaultAtomSqlType.P_BOOLEAN;
+			case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> DefaultAtomSqlType.P_INT;
+			case Types.BIGINT -> DefaultAtomSqlType.P_LONG;
+			case Types.FLOAT, Types.REAL, Types.DOUBLE -> DefaultAtomSqlType.P_DOUBLE;
+			case Types.NUMERIC, Types.DECIMAL -> DefaultAtomSqlType.BIG_DECIMAL;
+			case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> DefaultAtomSqlType.STRING;
+			case Types.DATE -> DefaultAtomSqlType.DATE;
+			case Types.TIME -> DefaultAtomSqlType.TIME;
+			case Types.TIMESTAMP -> DefaultAtomSqlType.DATETIME;
+			default -> DefaultAtomSqlType.OBJECT;
+			};
+		}
+	}
+
+	private static class ColumnReader {
+
+		private final int columnIndex;
+
+		private final String name;
+
+		private final AtomSqlType type;
+
+		private final Kind kind;
+
+		private Object values;
+
+		private long[] nulls;
+
+		private ColumnReader(int columnIndex, String name, DefaultAtomSqlType type) {
+			this.columnIndex = columnIndex;
+			this.name = name;
+			this.type = type;
+
+			kind = switch (type) {
+			case P_INT -> Kind.INT;
+			case P_LONG -> Kind.LONG;
+			case P_DOUBLE -> Kind.DOUBLE;
+			case P_BOOLEAN -> Kind.BOOLEAN;
+			default -> Kind.OBJECT;
+			};
+
+			values = switch (kind) {
+			case INT -> new int[0];
+			case LONG -> new long[0];
+			case DOUBLE -> new double[0];
+			case BOOLEAN -> new boolean[0];
+			case OBJECT -> new Object[0];
+			};
+
+			if (kind != Kind.OBJECT) nulls = new long[0];
+		}
+
+		private void grow(int capacity) {
+			values = copyOf(values, capacity);
+
+			if (nulls != null) nulls = Arrays.copyOf(nulls, (capacity + 63) >>> 6);
+		}
+
+		private void read(ResultSet rs, int row) throws SQLException {
+			switch (kind) {
+			case INT -> ((int[]) values)[row] = type.getInt(rs, columnIndex);
+			case LONG -> ((long[]) values)[row] = type.getLong(rs, columnIndex);
+			case DOUBLE -> ((double[]) values)[row] = type.getDouble(rs, columnIndex);
+			case BOOLEAN -> ((boolean[]) values)[row] = type.getBoolean(rs, columnIndex);
+			case OBJECT -> {
+				((Object[]) values)[row] = type.get(rs, columnIndex);
+				return;
+			}
+			}
+
+			if (rs.wasNull()) nulls[row >>> 6] |= 1L << row;
+		}
+
+		private Column column(int size) {
+			return new Column(name, type, kind, copyOf(values, size), nulls == null ? null : Arrays.copyOf(nulls, (size + 63) >>> 6));
+		}
+
+		private Object copyOf(Object array, int length) {
+			return switch (kind) {
+			case INT -> Arrays.copyOf((int[]) array, length);
+			case LONG -> Arrays.copyOf((long[]) array, length);
+			case DOUBLE -> Arrays.copyOf((double[]) array, length);
+			case BOOLEAN -> Arrays.copyOf((boolean[]) array, length);
+			case OBJECT -> Arrays.copyOf((Object[]) array, length);
+			};
+		}
+	}
+}
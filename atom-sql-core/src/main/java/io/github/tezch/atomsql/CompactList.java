@@ -0,0 +1,425 @@
+package io.github.tezch.atomsql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * 検索結果の各行を、ヒープ外の{@link ByteBuffer}に詰めて保持する読み取り専用の{@link List}です。<br>
+ * プリミティブ型と日付、時刻は固定長で、文字列は長さ付きのUTF-8で格納されます。<br>
+ * 要素は取得のたびに復元されるため、同じ位置の要素であっても同一のインスタンスとはなりません。
+ * @see Atom#compactList()
+ * @author tezch
+ * @param <T> 要素の型
+ */
+class CompactList<T> extends AbstractList<T> implements RandomAccess {
+
+	//ByteBufferの単位 一行がこれを超える場合は、その行専用の大きさで作成する
+	private static final int chunkSize = 1 << 20;
+
+	private final ByteBuffer[] chunks;
+
+	//各ByteBufferの先頭の行
+	private final int[] chunkStarts;
+
+	//各行のByteBuffer内の開始位置
+	private final int[] offsets;
+
+	private final int size;
+
+	private final Encoding[] encodings;
+
+	private final Object[][] enumConstants;
+
+	//固定長、文字列で表現できない値
+	private final Object[] objects;
+
+	private final Function<Object[], Object> creator;
+
+	private CompactList(
+		ByteBuffer[] chunks,
+		int[] chunkStarts,
+		int[] offsets,
+		int size,
+		Encoding[] encodings,
+		Object[][] enumConstants,
+		Object[] objects,
+		Function<Object[], Object> creator) {
+		this.chunks = chunks;
+		this.chunkStarts = chunkStarts;
+		this.offsets = offsets;
+		this.size = size;
+		this.encodings = encodings;
+		this.enumConstants = enumConstants;
+		this.objects = objects;
+		this.creator = creator;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		Objects.checkIndex(index, size);
+
+		var chunkIndex = Arrays.binarySearch(chunkStarts, index);
+		//同じ行から始まるByteBufferは存在しないので、見つからない場合は挿入位置の直前
+		if (chunkIndex < 0) chunkIndex = -chunkIndex - 2;
+
+		var buffer = chunks[chunkIndex];
+		var offset = offsets[index];
+
+		var values = new Object[encodings.length];
+		var position = offset + nullBytes(encodings.length);
+		for (var i = 0; i < encodings.length; i++) {
+			if ((buffer.get(offset + (i >>> 3)) & (1 << (i & 7))) != 0) continue;
+
+			switch (encodings[i]) {
+			case INT -> {
+				values[i] = buffer.getInt(position);
+				position += Integer.BYTES;
+			}
+			case LONG -> {
+				values[i] = buffer.getLong(position);
+				position += Long.BYTES;
+			}
+			case DOUBLE -> {
+				values[i] = buffer.getDouble(position);
+				position += Double.BYTES;
+			}
+			case FLOAT -> {
+				values[i] = buffer.getFloat(position);
+				position += Float.BYTES;
+			}
+			case BOOLEAN -> {
+				values[i] = buffer.get(position) != 0;
+				position += 1;
+			}
+			case DATE -> {
+				values[i] = LocalDate.ofEpochDay(buffer.getLong(position));
+				position += Long.BYTES;
+			}
+			case DATETIME -> {
+				values[i] = LocalDateTime.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + Long.BYTES), ZoneOffset.UTC);
+				position += Long.BYTES + Integer.BYTES;
+			}
+			case TIME -> {
+				values[i] = LocalTime.ofNanoOfDay(buffer.getLong(position));
+				position += Long.BYTES;
+			}
+			case STRING -> {
+				var bytes = bytes(buffer, position);
+				values[i] = new String(bytes, StandardCharsets.UTF_8);
+				position += Integer.BYTES + bytes.length;
+			}
+			case DECIMAL -> {
+				var scale = buffer.getInt(position);
+				var bytes = bytes(buffer, position + Integer.BYTES);
+				values[i] = new BigDecimal(new BigInteger(bytes), scale);
+				position += Integer.BYTES + Integer.BYTES + bytes.length;
+			}
+			case ENUM -> {
+				values[i] = enumConstants[i][buffer.getInt(position)];
+				position += Integer.BYTES;
+			}
+			case OBJECT -> {
+				values[i] = objects[buffer.getInt(position)];
+				position += Integer.BYTES;
+			}
+			}
+		}
+
+		return (T) creator.apply(values);
+	}
+
+	private static byte[] bytes(ByteBuffer buffer, int position) {
+		var bytes = new byte[buffer.getInt(position)];
+		buffer.get(position + Integer.BYTES, bytes);
+		return bytes;
+	}
+
+	private static int nullBytes(int columns) {
+		return (columns + 7) >>> 3;
+	}
+
+	private static enum Encoding {
+
+		INT,
+
+		LONG,
+
+		DOUBLE,
+
+		FLOAT,
+
+		BOOLEAN,
+
+		DATE,
+
+		DATETIME,
+
+		TIME,
+
+		STRING,
+
+		DECIMAL,
+
+		ENUM,
+
+		OBJECT;
+
+		private static Encoding of(Class<?> type) {
+			if (type == int.class || type == Integer.class) return INT;
+			if (type == long.class || type == Long.class) return LONG;
+			if (type == double.class || type == Double.class) return DOUBLE;
+			if (type == float.class || type == Float.class) return FLOAT;
+			if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+			if (type == LocalDate.class) return DATE;
+			if (type == LocalDateTime.class) return DATETIME;
+			if (type == LocalTime.class) return TIME;
+			if (type == String.class) return STRING;
+			if (type == BigDecimal.class) return DECIMAL;
+			if (type.isEnum()) return ENUM;
+			return OBJECT;
+		}
+	}
+
+	/**
+	 * {@link ResultSet}から一行ずつ値を読み込み、{@link CompactList}を作成します。
+	 */
+	static class Writer {
+
+		private final int[] columnIndexes;
+
+		private final AtomSqlType[] types;
+
+		private final Encoding[] encodings;
+
+		private final Object[][] enumConstants;
+
+		private final List<Object> objects = new ArrayList<>();
+
+		private final List<ByteBuffer> chunks = new ArrayList<>();
+
+		private int[] chunkStarts = new int[8];
+
+		private int[] offsets = new int[64];
+
+		private int size;
+
+		private ByteBuffer current;
+
+		//一行分の値を詰める作業領域
+		private ByteBuffer row = ByteBuffer.allocate(256);
+
+		/**
+		 * @param columnIndexes 値を取得するカラム位置 SELECT句に存在しないカラムの場合、0
+		 * @param types 値を取得する{@link AtomSqlType}
+		 */
+		Writer(int[] columnIndexes, AtomSqlType[] types) {
+			this.columnIndexes = columnIndexes;
+			this.types = types;
+
+			encodings = new Encoding[types.length];
+			enumConstants = new Object[types.length][];
+			for (var i = 0; i < types.length; i++) {
+				var type = types[i].type();
+				encodings[i] = Encoding.of(type);
+
+				if (encodings[i] == Encoding.ENUM) enumConstants[i] = type.getEnumConstants();
+			}
+		}
+
+		/**
+		 * 現在の行を書き込みます。
+		 */
+		void write(ResultSet rs) throws SQLException {
+			var nullBytes = nullBytes(encodings.length);
+
+			row.clear();
+			ensure(nullBytes);
+			for (var i = 0; i < nullBytes; i++) {
+				row.put((byte) 0);
+			}
+
+			for (var i = 0; i < encodings.length; i++) {
+				var columnIndex = columnIndexes[i];
+				if (columnIndex == 0 || !writeValue(rs, i, columnIndex)) {
+					row.put(i >>> 3, (byte) (row.get(i >>> 3) | (1 << (i & 7))));
+				}
+			}
+
+			row.flip();
+			append(row);
+		}
+
+		/**
+		 * @return nullの場合、false
+		 */
+		private boolean writeValue(ResultSet rs, int i, int columnIndex) throws SQLException {
+			var type = types[i];
+
+			//プリミティブ型はnullにならないため、ボクシングせずに取得する
+			if (type.type().isPrimitive()) {
+				switch (encodings[i]) {
+				case INT -> {
+					ensure(Integer.BYTES);
+					row.putInt(type.getInt(rs, columnIndex));
+					return true;
+				}
+				case LONG -> {
+					ensure(Long.BYTES);
+					row.putLong(type.getLong(rs, columnIndex));
+					return true;
+				}
+				case DOUBLE -> {
+					ensure(Double.BYTES);
+					row.putDouble(type.getDouble(rs, columnIndex));
+					return true;
+				}
+				case BOOLEAN -> {
+					ensure(1);
+					row.put((byte) (type.getBoolean(rs, columnIndex) ? 1 : 0));
+					return true;
+				}
+				default -> {}
+				}
+			}
+
+			var value = type.get(rs, columnIndex);
+			if (value == null) return false;
+
+			switch (encodings[i]) {
+			case INT -> {
+				ensure(Integer.BYTES);
+				row.putInt((int) value);
+			}
+			case LONG -> {
+				ensure(Long.BYTES);
+				row.putLong((long) value);
+			}
+			case DOUBLE -> {
+				ensure(Double.BYTES);
+				row.putDouble((double) value);
+			}
+			case FLOAT -> {
+				ensure(Float.BYTES);
+				row.putFloat((float) value);
+			}
+			case BOOLEAN -> {
+				ensure(1);
+				row.put((byte) ((boolean) value ? 1 : 0));
+			}
+			case DATE -> {
+				ensure(Long.BYTES);
+				row.putLong(((LocalDate) value).toEpochDay());
+			}
+			case DATETIME -> {
+				var dateTime = (LocalDateTime) value;
+				ensure(Long.BYTES + Integer.BYTES);
+				row.putLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+				row.putInt(dateTime.getNano());
+			}
+			case TIME -> {
+				ensure(Long.BYTES);
+				row.putLong(((LocalTime) value).toNanoOfDay());
+			}
+			case STRING -> putBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+			case DECIMAL -> {
+				var decimal = (BigDecimal) value;
+				ensure(Integer.BYTES);
+				row.putInt(decimal.scale());
+				putBytes(decimal.unscaledValue().toByteArray());
+			}
+			case ENUM -> {
+				ensure(Integer.BYTES);
+				row.putInt(((Enum<?>) value).ordinal());
+			}
+			case OBJECT -> {
+				ensure(Integer.BYTES);
+				row.putInt(objects.size());
+				objects.add(value);
+			}
+			}
+
+			return true;
+		}
+
+		private void putBytes(byte[] bytes) {
+			ensure(Integer.BYTES + bytes.length);
+			row.putInt(bytes.length);
+			row.put(bytes);
+		}
+
+		private void ensure(int bytes) {
+			if (row.remaining() >= bytes) return;
+
+			var grown = ByteBuffer.allocate(Math.max(row.capacity() << 1, row.position() + bytes));
+			row.flip();
+			grown.put(row);
+			row = grown;
+		}
+
+		private void append(ByteBuffer row) {
+			var length = row.remaining();
+
+			if (current == null || current.remaining() < length) {
+				current = ByteBuffer.allocateDirect(Math.max(chunkSize, length));
+
+				var chunkCount = chunks.size();
+				if (chunkCount == chunkStarts.length) chunkStarts = Arrays.copyOf(chunkStarts, chunkCount << 1);
+				chunkStarts[chunkCount] = size;
+
+				chunks.add(current);
+			}
+
+			if (size == offsets.length) offsets = Arrays.copyOf(offsets, size << 1);
+			offsets[size++] = current.position();
+
+			current.put(row);
+		}
+
+		/**
+		 * @param creator 値から要素を作成する
+		 */
+		<T> CompactList<T> result(Function<Object[], Object> creator) {
+			var chunkArray = chunks.toArray(ByteBuffer[]::new);
+
+			var last = chunkArray.length - 1;
+			if (last >= 0) {
+				//最後のByteBufferは使用した分だけに切り詰める
+				var used = current.flip();
+				var trimmed = ByteBuffer.allocateDirect(used.remaining());
+				trimmed.put(used);
+				chunkArray[last] = trimmed;
+			}
+
+			return new CompactList<>(
+				chunkArray,
+				Arrays.copyOf(chunkStarts, chunkArray.length),
+				Arrays.copyOf(offsets, size),
+				size,
+				encodings,
+				enumConstants,
+				objects.toArray(),
+				creator);
+		}
+	}
+}
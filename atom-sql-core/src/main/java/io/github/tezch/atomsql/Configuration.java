@@ -63,4 +63,36 @@ public interface Configuration {
 	 * @return キャッシュの最大値
 	 */
 	int cacheCapacity();
+
+	/**
+	 * uses-csv-padding<br>
+	 * {@link Csv}の値の数を2のべき乗（最大1024）まで最後の値で埋めて、SQLの種類を減らすかどうか<br>
+	 * IN句の値の数ごとに別のSQLとなることで、ドライバやデータベースの実行計画キャッシュが圧迫されることを防ぐ<br>
+	 * 使用する場合、true
+	 * @return 使用する場合、true
+	 */
+	default boolean usesCsvPadding() {
+		return false;
+	}
+
+	/**
+	 * statement-cache-capacity<br>
+	 * {@link JdbcSqlService#borrowConnection(java.util.function.Consumer)}中に、Connectionごとにキャッシュする{@link java.sql.PreparedStatement}の最大値<br>
+	 * この値を超えると参照の古いものから閉じられる<br>
+	 * この値が0以下の場合、キャッシュは行わない
+	 * @return {@link java.sql.PreparedStatement}のキャッシュの最大値
+	 */
+	default int statementCacheCapacity() {
+		return 0;
+	}
+
+	/**
+	 * adaptive-fetch-size<br>
+	 * {@link io.github.tezch.atomsql.annotation.FetchSize}等でフェッチサイズが指定されていない検索で、メソッドごとの過去の検索結果件数からフェッチサイズを決定するかどうか<br>
+	 * 使用する場合、true
+	 * @return 使用する場合、true
+	 */
+	default boolean adaptiveFetchSize() {
+		return false;
+	}
 }
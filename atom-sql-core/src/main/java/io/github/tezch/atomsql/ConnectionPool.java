@@ -0,0 +1,591 @@
+package io.github.tezch.atomsql;
+
+import java.lang.System.Logger.Level;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link JdbcSqlService}で使用するための、簡易な{@link Connection}のプールです。<br>
+ * {@link Supplier}として{@link JdbcSqlService}に渡すことで、操作ごとに物理的な接続が行われることを防ぎます。<br>
+ * 取得した{@link Connection}は、{@link Connection#close()}でプールに返却されます。返却時に閉じられていない{@link Statement}は、その{@link java.sql.ResultSet}と共に閉じられます。<br>
+ * 物理的な{@link Connection}は利用者に渡されず、{@link Statement#getConnection()}等も返却されるものと同じ{@link Connection}を返します。そのため{@link java.sql.Wrapper#unwrap(Class)}は包んでいるインスタンス自身のみを対象とします。<br>
+ * 返却された{@link Connection}は、同じスレッドが次に取得する際に優先して使用され、それ以外の場合は共有のリストから探されます。いずれもロックは使用しません。<br>
+ * 最大数まで使用中の場合の待機には{@link Semaphore}を使用し、synchronizedを使用しないため、仮想スレッドからも使用可能です。<br>
+ * バックグラウンドのスレッドは使用せず、最大寿命を超えたものは取得時または返却時に閉じられます。
+ * @author tezch
+ */
+public class ConnectionPool implements Supplier<Connection>, AutoCloseable {
+
+	//Connectionの状態
+	private static final int IDLE = 0;
+
+	private static final int IN_USE = 1;
+
+	private static final int REMOVED = -1;
+
+	//接続に関するエラーを表すSQLStateの分類
+	private static final String connectionExceptionClass = "08";
+
+	private final Supplier<Connection> factory;
+
+	private final Settings settings;
+
+	//使用中のConnectionの数を最大数までに制限する
+	//返却時は、Connectionを未使用とした後に許可を戻すため、許可を得たスレッドは必ず未使用のものを見つけるか、作成できる
+	//待機したスレッドは到着順に許可を得る
+	private final Semaphore permits;
+
+	private final CopyOnWriteArrayList<Entry> entries = new CopyOnWriteArrayList<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	//スレッドが最後に使用したConnection
+	//仮想スレッドの場合はスレッドと共に破棄されるため、保持され続けることはない
+	private final ThreadLocal<Entry> lastUsed = new ThreadLocal<>();
+
+	private final LongAdder borrows = new LongAdder();
+
+	private final LongAdder waits = new LongAdder();
+
+	private final LongAdder timeouts = new LongAdder();
+
+	private final LongAdder waitNanos = new LongAdder();
+
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+	private final LongAdder created = new LongAdder();
+
+	private final LongAdder retired = new LongAdder();
+
+	private volatile boolean closed;
+
+	/**
+	 * デフォルトの設定でインスタンスを生成します。
+	 * @see Settings#of(int)
+	 * @param factory 物理的な{@link Connection}の供給元
+	 * @param maximumSize {@link Connection}の最大数
+	 */
+	public ConnectionPool(Supplier<Connection> factory, int maximumSize) {
+		this(factory, Settings.of(maximumSize));
+	}
+
+	/**
+	 * 設定を指定してインスタンスを生成します。
+	 * @param factory 物理的な{@link Connection}の供給元
+	 * @param settings 設定
+	 */
+	public ConnectionPool(Supplier<Connection> factory, Settings settings) {
+		this.factory = Objects.requireNonNull(factory);
+		this.settings = Objects.requireNonNull(settings);
+		permits = new Semaphore(settings.maximumSize, true);
+	}
+
+	/**
+	 * プールから{@link Connection}を取得します。<br>
+	 * 最大数まで使用中の場合、{@link Settings#connectionTimeout()}まで返却を待ちます。
+	 * @return {@link Connection#close()}でプールに返却される{@link Connection}
+	 * @throws AtomSqlException 待機時間内に取得できなかった場合
+	 * @throws IllegalStateException プールが閉じられている場合
+	 */
+	@Override
+	public Connection get() {
+		if (closed) throw new IllegalStateException("ConnectionPool is closed");
+
+		borrows.increment();
+
+		//待機中のスレッドがいる場合は追い越さずに並ぶ
+		if (permits.hasQueuedThreads() || !permits.tryAcquire()) await();
+
+		try {
+			var handle = new Handle(take());
+			handle.proxy = (Connection) newProxy(Connection.class, handle);
+			return handle.proxy;
+		} catch (RuntimeException | Error e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * プールを閉じます。<br>
+	 * 未使用の{@link Connection}は直ちに、使用中のものは返却時に閉じられます。
+	 */
+	@Override
+	public void close() {
+		closed = true;
+
+		for (var entry : entries) {
+			if (entry.state.compareAndSet(IDLE, IN_USE)) retire(entry);
+		}
+	}
+
+	/**
+	 * プールの統計情報を返します。
+	 * @return 統計情報
+	 */
+	public Statistics statistics() {
+		var idle = (int) entries.stream().filter(e -> e.state.get() == IDLE).count();
+
+		return new Statistics(
+			settings.maximumSize,
+			size.get(),
+			settings.maximumSize - permits.availablePermits(),
+			idle,
+			borrows.sum(),
+			waits.sum(),
+			timeouts.sum(),
+			Duration.ofNanos(waitNanos.sum()),
+			Duration.ofNanos(maxWaitNanos.get()),
+			created.sum(),
+			retired.sum());
+	}
+
+	private void await() {
+		waits.increment();
+
+		var timeout = settings.connectionTimeout;
+
+		var startNanos = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AtomSqlException(new SQLTransientConnectionException("Interrupted while waiting for a connection", e));
+		} finally {
+			var elapsed = System.nanoTime() - startNanos;
+			waitNanos.add(elapsed);
+			maxWaitNanos.accumulate(elapsed);
+		}
+
+		if (!acquired) {
+			timeouts.increment();
+			throw new AtomSqlException(
+				new SQLTransientConnectionException("Connection is not available, request timed out after " + timeout.toMillis() + "ms"));
+		}
+	}
+
+	/**
+	 * 許可を得た状態で呼ぶこと
+	 */
+	private Entry take() {
+		var entry = lastUsed.get();
+		if (entry != null) {
+			if (entry.state.compareAndSet(IDLE, IN_USE) && usable(entry)) return entry;
+
+			//プールから除外されたものを保持し続けないようにする
+			if (entry.state.get() == REMOVED) lastUsed.remove();
+		}
+
+		while (true) {
+			if (closed) throw new IllegalStateException("ConnectionPool is closed");
+
+			for (var candidate : entries) {
+				if (candidate.state.compareAndSet(IDLE, IN_USE) && usable(candidate)) {
+					lastUsed.set(candidate);
+					return candidate;
+				}
+			}
+
+			if (size.incrementAndGet() <= settings.maximumSize) {
+				try {
+					var newEntry = create();
+					lastUsed.set(newEntry);
+					return newEntry;
+				} catch (RuntimeException | Error e) {
+					size.decrementAndGet();
+					throw e;
+				}
+			}
+
+			size.decrementAndGet();
+
+			//許可を得ているので、未使用となったものが他のスレッドに先を越されずに見つかるまで探し直す
+			Thread.onSpinWait();
+		}
+	}
+
+	private Entry create() {
+		var connection = Objects.requireNonNull(factory.get());
+		try {
+			var entry = new Entry(
+				connection,
+				connection.getAutoCommit(),
+				connection.isReadOnly(),
+				connection.getTransactionIsolation());
+
+			entries.add(entry);
+			created.increment();
+
+			return entry;
+		} catch (SQLException e) {
+			closePhysically(connection);
+			throw new AtomSqlException(e);
+		}
+	}
+
+	/**
+	 * 使用中とした状態で呼ぶこと<br>
+	 * 使用できない場合はプールから除外する
+	 */
+	private boolean usable(Entry entry) {
+		var now = System.nanoTime();
+
+		if (expired(entry, now)) {
+			retire(entry);
+			return false;
+		}
+
+		if (now - entry.lastAccessedNanos < settings.validationInterval.toNanos()) return true;
+
+		boolean valid;
+		try {
+			valid = entry.connection.isValid((int) Math.max(1, settings.validationTimeout.toSeconds()));
+		} catch (SQLException e) {
+			valid = false;
+		}
+
+		if (!valid) retire(entry);
+
+		return valid;
+	}
+
+	private boolean expired(Entry entry, long now) {
+		return now - entry.createdNanos >= settings.maxLifetime.toNanos();
+	}
+
+	private void giveBack(Entry entry, Handle handle) {
+		try {
+			//利用者が閉じ忘れたStatementを閉じる ResultSetはStatementと共に閉じられる
+			handle.closeStatements();
+
+			if (!entry.broken && !closed) reset(entry, handle);
+
+			var now = System.nanoTime();
+			entry.lastAccessedNanos = now;
+
+			if (entry.broken || closed || expired(entry, now)) {
+				retire(entry);
+			} else {
+				entry.state.set(IDLE);
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * 使用中に変更された状態を、作成時の状態に戻す
+	 */
+	private static void reset(Entry entry, Handle handle) {
+		var connection = entry.connection;
+		try {
+			//確定されていない更新は破棄する
+			if (!handle.autoCommit) connection.rollback();
+
+			if (handle.autoCommit != entry.autoCommit) connection.setAutoCommit(entry.autoCommit);
+
+			if (handle.readOnlyChanged) connection.setReadOnly(entry.readOnly);
+
+			if (handle.transactionIsolationChanged) connection.setTransactionIsolation(entry.transactionIsolation);
+
+			connection.clearWarnings();
+		} catch (SQLException e) {
+			entry.broken = true;
+		}
+	}
+
+	private void retire(Entry entry) {
+		entry.state.set(REMOVED);
+
+		if (lastUsed.get() == entry) lastUsed.remove();
+
+		if (entries.remove(entry)) {
+			size.decrementAndGet();
+			retired.increment();
+		}
+
+		closePhysically(entry.connection);
+	}
+
+	private static Object newProxy(Class<?> type, InvocationHandler handler) {
+		return Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	/**
+	 * unwrapで物理的な接続やそれを取得可能なオブジェクトを渡さないよう、包んでいるインスタンス自身のみを対象とする
+	 */
+	static <T> T unwrap(Object wrapper, Class<T> iface) throws SQLException {
+		if (iface.isInstance(wrapper)) return iface.cast(wrapper);
+
+		throw new SQLException("Pooled object cannot be unwrapped as " + iface.getName());
+	}
+
+	private static void closePhysically(Connection connection) {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			AtomSql.logger.log(Level.WARNING, "Failed to close connection", e);
+		}
+	}
+
+	private static class Entry {
+
+		private final Connection connection;
+
+		private final long createdNanos = System.nanoTime();
+
+		private final AtomicInteger state = new AtomicInteger(IN_USE);
+
+		//作成時の状態
+		private final boolean autoCommit;
+
+		private final boolean readOnly;
+
+		private final int transactionIsolation;
+
+		private volatile long lastAccessedNanos = createdNanos;
+
+		//使用中のスレッドのみが変更する
+		private boolean broken;
+
+		private Entry(Connection connection, boolean autoCommit, boolean readOnly, int transactionIsolation) {
+			this.connection = connection;
+			this.autoCommit = autoCommit;
+			this.readOnly = readOnly;
+			this.transactionIsolation = transactionIsolation;
+		}
+	}
+
+	/**
+	 * 利用者に渡すConnectionの処理<br>
+	 * closeで物理的な接続を閉じずに返却し、以降の使用を禁止する<br>
+	 * 作成されたStatementを保持し、返却時に閉じられていないものを閉じる
+	 */
+	private class Handle implements InvocationHandler {
+
+		private final Entry entry;
+
+		//利用者に渡したConnection
+		private Connection proxy;
+
+		//閉じられていないStatement
+		private final Set<Statement> statements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private boolean closed;
+
+		private boolean autoCommit;
+
+		private boolean readOnlyChanged;
+
+		private boolean transactionIsolationChanged;
+
+		private Handle(Entry entry) {
+			this.entry = entry;
+			autoCommit = entry.autoCommit;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!closed) {
+					closed = true;
+					giveBack(entry, this);
+				}
+
+				return null;
+			case "isClosed":
+				return closed || entry.connection.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Pooled" + entry.connection.toString();
+			default:
+			}
+
+			if (closed) throw new SQLException("Connection is closed");
+
+			switch (method.getName()) {
+			case "unwrap":
+				return unwrap(proxy, (Class<?>) args[0]);
+			case "isWrapperFor":
+				return ((Class<?>) args[0]).isInstance(proxy);
+			default:
+			}
+
+			var result = wrap(method.getReturnType(), invokePhysically(method, args));
+
+			switch (method.getName()) {
+			case "setAutoCommit" -> autoCommit = (boolean) args[0];
+			case "setReadOnly" -> readOnlyChanged = true;
+			case "setTransactionIsolation" -> transactionIsolationChanged = true;
+			default -> {}
+			}
+
+			return result;
+		}
+
+		private Object invokePhysically(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(entry.connection, args);
+			} catch (InvocationTargetException e) {
+				var cause = e.getCause();
+
+				//接続自体に問題がある場合、再利用しない
+				if (cause instanceof SQLException sqlException) {
+					var sqlState = sqlException.getSQLState();
+					if (sqlState != null && sqlState.startsWith(connectionExceptionClass)) entry.broken = true;
+				}
+
+				throw cause;
+			}
+		}
+
+		/**
+		 * プールの管理外で物理的な接続が使用されないよう、{@link Connection}を取得可能な型は包んで返す<br>
+		 * 包んだ型はgetConnection等以外は直接呼び出すため、検索結果の読み込み等に余分な処理は加わらない
+		 */
+		private Object wrap(Class<?> type, Object result) {
+			if (result == null) return null;
+
+			if (type == CallableStatement.class) return track(new PooledCallableStatement((CallableStatement) result, proxy, statements));
+
+			if (type == PreparedStatement.class) return track(new PooledPreparedStatement<>((PreparedStatement) result, proxy, statements));
+
+			if (type == Statement.class) return track(new PooledStatement<>((Statement) result, proxy, statements));
+
+			if (type == DatabaseMetaData.class) return new PooledDatabaseMetaData((DatabaseMetaData) result, proxy);
+
+			return result;
+		}
+
+		private Statement track(PooledStatement<?> statement) {
+			statements.add(statement.statement);
+			return statement;
+		}
+
+		private void closeStatements() {
+			if (statements.isEmpty()) return;
+
+			for (var statement : statements) {
+				try {
+					statement.close();
+				} catch (SQLException e) {
+					//閉じられない場合、接続の状態が不明なため再利用しない
+					entry.broken = true;
+				}
+			}
+
+			statements.clear();
+		}
+	}
+
+	/**
+	 * {@link ConnectionPool}の設定です。
+	 * @param maximumSize {@link Connection}の最大数
+	 * @param connectionTimeout 最大数まで使用中の場合に、返却を待つ時間
+	 * @param maxLifetime {@link Connection}の最大寿命 超えたものは取得時または返却時に閉じられる
+	 * @param validationInterval 前回の使用からこの時間以上経過した{@link Connection}は、取得時に{@link Connection#isValid(int)}で検証される
+	 * @param validationTimeout {@link Connection#isValid(int)}に渡す待ち時間 1秒未満は1秒となる
+	 */
+	public static record Settings(
+		int maximumSize,
+		Duration connectionTimeout,
+		Duration maxLifetime,
+		Duration validationInterval,
+		Duration validationTimeout) {
+
+		/**
+		 * コンストラクタ
+		 * @param maximumSize {@link Connection}の最大数
+		 * @param connectionTimeout 最大数まで使用中の場合に、返却を待つ時間
+		 * @param maxLifetime {@link Connection}の最大寿命
+		 * @param validationInterval 取得時に検証を行う、前回の使用からの経過時間
+		 * @param validationTimeout {@link Connection#isValid(int)}に渡す待ち時間
+		 * @throws IllegalArgumentException maximumSizeが1未満の場合
+		 */
+		public Settings {
+			if (maximumSize < 1) throw new IllegalArgumentException("maximumSize must be greater than 0");
+
+			Objects.requireNonNull(connectionTimeout);
+			Objects.requireNonNull(maxLifetime);
+			Objects.requireNonNull(validationInterval);
+			Objects.requireNonNull(validationTimeout);
+		}
+
+		/**
+		 * 最大数以外をデフォルトとした設定を返します。<br>
+		 * 待ち時間30秒、最大寿命30分、検証間隔5秒、検証の待ち時間5秒となります。
+		 * @param maximumSize {@link Connection}の最大数
+		 * @return 設定
+		 */
+		public static Settings of(int maximumSize) {
+			return new Settings(
+				maximumSize,
+				Duration.ofSeconds(30),
+				Duration.ofMinutes(30),
+				Duration.ofSeconds(5),
+				Duration.ofSeconds(5));
+		}
+	}
+
+	/**
+	 * {@link ConnectionPool}の統計情報です。
+	 * @param maximumSize {@link Connection}の最大数
+	 * @param size 現在の{@link Connection}の数
+	 * @param active 使用中の{@link Connection}の数
+	 * @param idle 未使用の{@link Connection}の数
+	 * @param borrowCount 取得された回数
+	 * @param waitCount 取得時に待機した回数
+	 * @param timeoutCount 待機時間内に取得できなかった回数
+	 * @param totalWaitTime 取得時に待機した時間の合計
+	 * @param maxWaitTime 取得時に待機した時間の最大
+	 * @param createdCount 物理的な接続を作成した回数
+	 * @param retiredCount 最大寿命、検証の失敗、接続のエラー等で閉じた回数
+	 */
+	public static record Statistics(
+		int maximumSize,
+		int size,
+		int active,
+		int idle,
+		long borrowCount,
+		long waitCount,
+		long timeoutCount,
+		Duration totalWaitTime,
+		Duration maxWaitTime,
+		long createdCount,
+		long retiredCount) {
+
+		/**
+		 * 待機した取得一回あたりの平均待機時間を返します。
+		 * @return 平均待機時間
+		 */
+		public Duration averageWaitTime() {
+			return waitCount == 0 ? Duration.ZERO : totalWaitTime.dividedBy(waitCount);
+		}
+	}
+}
@@ -0,0 +1,337 @@
+package io.github.tezch.atomsql;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.github.tezch.atomsql.annotation.OptionalColumn;
+import io.github.tezch.atomsql.annotation.processor.Methods;
+import io.github.tezch.atomsql.annotation.processor.OptionalDatas;
+import io.github.tezch.atomsql.annotation.processor.TooManyColumnsDataObject;
+
+/**
+ * processorが生成した{@link io.github.tezch.atomsql.annotation.processor.DataObjectMapper}が使用できない場合に、{@link io.github.tezch.atomsql.annotation.DataObject}を作成するためのクラスです。<br>
+ * コンストラクタとフィールドへのアクセスはクラスごとに一度だけ解決し、{@link MethodHandle}として保持します。
+ * @author tezch
+ */
+class DataObjectAccessor {
+
+	private static final ClassValue<DataObjectAccessor> accessors = new ClassValue<>() {
+
+		@Override
+		protected DataObjectAccessor computeValue(Class<?> resultClass) {
+			try {
+				return resultClass.isRecord() ? forRecord(resultClass) : forClass(resultClass);
+			} catch (NoSuchMethodException | IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
+	private static final MethodType constructorType = MethodType.methodType(Object.class, Object[].class);
+
+	private static final MethodType defaultConstructorType = MethodType.methodType(Object.class);
+
+	private static final MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final MethodType wrapperConstructorType = MethodType.methodType(Object.class, Object.class);
+
+	//フィールドの値の取得方法
+	private static final int OBJECT = 0;
+
+	private static final int INT = 1;
+
+	private static final int LONG = 2;
+
+	private static final int DOUBLE = 3;
+
+	private static final int BOOLEAN = 4;
+
+	private final ColumnPlan.Target target;
+
+	private final boolean[] needsOptionals;
+
+	//レコードの場合、全値を配列で受け取るコンストラクタ
+	//クラスの場合、引数なしのコンストラクタ
+	private final MethodHandle constructor;
+
+	//クラスの場合のフィールドのsetter
+	private final MethodHandle[] setters;
+
+	//クラスの場合のフィールドの値の取得方法
+	private final int[] kinds;
+
+	//TooManyColumnsDataObjectの場合、Beanを受け取るコンストラクタ
+	private final MethodHandle wrapperConstructor;
+
+	private DataObjectAccessor(
+		ColumnPlan.Target target,
+		boolean[] needsOptionals,
+		MethodHandle constructor,
+		MethodHandle[] setters,
+		int[] kinds,
+		MethodHandle wrapperConstructor) {
+		this.target = target;
+		this.needsOptionals = needsOptionals;
+		this.constructor = constructor;
+		this.setters = setters;
+		this.kinds = kinds;
+		this.wrapperConstructor = wrapperConstructor;
+	}
+
+	static DataObjectAccessor of(Class<?> resultClass) {
+		return accessors.get(resultClass);
+	}
+
+	/**
+	 * 値の取得対象<br>
+	 * {@link Optional}の場合、型はその型引数となります。
+	 */
+	ColumnPlan.Target target() {
+		return target;
+	}
+
+	/**
+	 * 現在の行から{@link io.github.tezch.atomsql.annotation.DataObject}を作成します。
+	 * @param rs 検索結果
+	 * @param types {@link #target()}の型から選択された{@link AtomSqlType}
+	 * @param columnIndexes {@link #target()}のカラム位置
+	 */
+	Object create(ResultSet rs, AtomSqlType[] types, int[] columnIndexes) throws SQLException {
+		try {
+			if (setters == null) {
+				var values = new Object[columnIndexes.length];
+				for (var i = 0; i < values.length; i++) {
+					values[i] = value(rs, types[i], columnIndexes[i], needsOptionals[i]);
+				}
+
+				return (Object) constructor.invokeExact(values);
+			}
+
+			var object = (Object) constructor.invokeExact();
+			for (var i = 0; i < setters.length; i++) {
+				var setter = setters[i];
+				var type = types[i];
+				var columnIndex = columnIndexes[i];
+
+				//プリミティブ型のフィールドにはボクシングせずに設定する
+				switch (kinds[i]) {
+				case INT -> setter.invokeExact(object, type.getInt(rs, columnIndex));
+				case LONG -> setter.invokeExact(object, type.getLong(rs, columnIndex));
+				case DOUBLE -> setter.invokeExact(object, type.getDouble(rs, columnIndex));
+				case BOOLEAN -> setter.invokeExact(object, type.getBoolean(rs, columnIndex));
+				default -> setter.invokeExact(object, value(rs, type, columnIndex, needsOptionals[i]));
+				}
+			}
+
+			return wrapperConstructor == null ? object : (Object) wrapperConstructor.invokeExact(object);
+		} catch (SQLException | RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	/**
+	 * 取得済みの値から{@link io.github.tezch.atomsql.annotation.DataObject}を作成します。
+	 * @param values {@link #target()}の順に並んだ値 {@link Optional}で包む前の値であること
+	 */
+	Object create(Object[] values) {
+		try {
+			if (setters == null) {
+				var arguments = new Object[values.length];
+				for (var i = 0; i < arguments.length; i++) {
+					arguments[i] = needsOptionals[i] ? Optional.ofNullable(values[i]) : values[i];
+				}
+
+				return (Object) constructor.invokeExact(arguments);
+			}
+
+			var object = (Object) constructor.invokeExact();
+			for (var i = 0; i < setters.length; i++) {
+				var setter = setters[i];
+				var value = values[i];
+
+				switch (kinds[i]) {
+				case INT -> setter.invokeExact(object, (int) value);
+				case LONG -> setter.invokeExact(object, (long) value);
+				case DOUBLE -> setter.invokeExact(object, (double) value);
+				case BOOLEAN -> setter.invokeExact(object, (boolean) value);
+				default -> setter.invokeExact(object, needsOptionals[i] ? Optional.ofNullable(value) : value);
+				}
+			}
+
+			return wrapperConstructor == null ? object : (Object) wrapperConstructor.invokeExact(object);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	private static Object value(ResultSet rs, AtomSqlType type, int columnIndex, boolean needsOptional) throws SQLException {
+		//OptionalColumnで、SELECT句にカラムがない場合、値はnull
+		var value = columnIndex == 0 ? null : type.get(rs, columnIndex);
+		return needsOptional ? Optional.ofNullable(value) : value;
+	}
+
+	private static DataObjectAccessor forRecord(Class<?> resultClass) throws NoSuchMethodException, IllegalAccessException {
+		Methods methods;
+		try {
+			methods = Class.forName(
+				resultClass.getName() + AtomSql.METADATA_CLASS_SUFFIX,
+				true,
+				resultClass.getClassLoader()).getAnnotation(Methods.class);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+
+		var method = methods.value()[0];
+		var parameterNames = method.parameters();
+		var parameterTypes = method.parameterTypes();
+
+		var types = new Class<?>[parameterNames.length];
+		var needsOptionals = new boolean[parameterNames.length];
+
+		for (var i = 0; i < parameterNames.length; i++) {
+			var parameterType = parameterTypes[i];
+			if (Optional.class.equals(parameterType)) {
+				parameterType = optionalType(resultClass, parameterNames[i]);
+				needsOptionals[i] = true;
+			}
+
+			types[i] = parameterType;
+		}
+
+		var lookup = MethodHandles.publicLookup();
+
+		var constructor = lookup.unreflectConstructor(resultClass.getConstructor(parameterTypes))
+			.asSpreader(Object[].class, parameterTypes.length)
+			.asType(constructorType);
+
+		return new DataObjectAccessor(
+			new ColumnPlan.Target(parameterNames, types, method.parameterOptionalColumns()),
+			needsOptionals,
+			constructor,
+			null,
+			null,
+			null);
+	}
+
+	private static DataObjectAccessor forClass(Class<?> resultClass) throws NoSuchMethodException, IllegalAccessException {
+		var tooManyColumnsDataObject = resultClass.getAnnotation(TooManyColumnsDataObject.class);
+
+		Class<?> dataObjectClass;
+
+		if (tooManyColumnsDataObject == null) {
+			dataObjectClass = resultClass;
+		} else {
+			dataObjectClass = tooManyColumnsDataObject.bean();
+		}
+
+		var lookup = MethodHandles.publicLookup();
+
+		var constructor = lookup.unreflectConstructor(dataObjectClass.getConstructor()).asType(defaultConstructorType);
+
+		var wrapperConstructor = tooManyColumnsDataObject == null
+			? null
+			: lookup.unreflectConstructor(resultClass.getConstructor(tooManyColumnsDataObject.bean())).asType(wrapperConstructorType);
+
+		//TooManyColumnsDataObjectの場合、値を設定するのはBeanのフィールド
+		//フィールドがstaticの場合は対象から除外
+		//publicではない、finalの場合はsetterの取得でエラーを起こすことで使用出来ないことを通知する
+		var fields = Arrays.stream(dataObjectClass.getFields())
+			.filter(f -> !Modifier.isStatic(f.getModifiers()))
+			.toArray(Field[]::new);
+
+		var fieldNames = new String[fields.length];
+		var types = new Class<?>[fields.length];
+		var optionalColumns = new boolean[fields.length];
+		var needsOptionals = new boolean[fields.length];
+		var setters = new MethodHandle[fields.length];
+		var kinds = new int[fields.length];
+
+		for (var i = 0; i < fields.length; i++) {
+			var field = fields[i];
+
+			var fieldName = field.getName();
+			var fieldType = field.getType();
+
+			if (Optional.class.equals(fieldType)) {
+				fieldType = optionalType(resultClass, fieldName);
+				needsOptionals[i] = true;
+			}
+
+			fieldNames[i] = fieldName;
+			types[i] = fieldType;
+			optionalColumns[i] = field.getAnnotation(OptionalColumn.class) != null;
+
+			var setter = lookup.unreflectSetter(field);
+
+			//SELECT句にカラムがない場合はnullを設定しエラーとするため、OptionalColumnは対象外
+			var kind = optionalColumns[i] ? OBJECT : kind(fieldType);
+			kinds[i] = kind;
+			setters[i] = kind == OBJECT ? setter.asType(setterType) : setter.asType(setter.type().changeParameterType(0, Object.class));
+		}
+
+		return new DataObjectAccessor(
+			new ColumnPlan.Target(fieldNames, types, optionalColumns),
+			needsOptionals,
+			constructor,
+			setters,
+			kinds,
+			wrapperConstructor);
+	}
+
+	private static int kind(Class<?> type) {
+		if (type == int.class) return INT;
+		if (type == long.class) return LONG;
+		if (type == double.class) return DOUBLE;
+		if (type == boolean.class) return BOOLEAN;
+		return OBJECT;
+	}
+
+	/**
+	 * {@link Optional}の項目の型引数を返します。
+	 */
+	private static Class<?> optionalType(Class<?> resultClass, String name) {
+		var type = optionalTypes.get(resultClass).get(name);
+		if (type == null)
+			throw new IllegalStateException("Type argument of Optional [" + name + "] not found in " + resultClass.getName() + AtomSql.DATA_OBJECT_METADATA_CLASS_SUFFIX);
+
+		return type;
+	}
+
+	/**
+	 * processorが生成した{@link OptionalDatas}の、項目名と{@link Optional}の型引数の対応
+	 */
+	private static final ClassValue<Map<String, Class<?>>> optionalTypes = new ClassValue<>() {
+
+		@Override
+		protected Map<String, Class<?>> computeValue(Class<?> resultClass) {
+			OptionalDatas optionalDatas;
+			try {
+				optionalDatas = Class.forName(
+					resultClass.getName() + AtomSql.DATA_OBJECT_METADATA_CLASS_SUFFIX,
+					true,
+					resultClass.getClassLoader()).getAnnotation(OptionalDatas.class);
+			} catch (ClassNotFoundException e) {
+				//Optionalの項目を持たない場合は生成されない
+				return Map.of();
+			}
+
+			var map = new HashMap<String, Class<?>>();
+			Arrays.stream(optionalDatas.value()).forEach(d -> map.put(d.name(), d.type()));
+
+			return Map.copyOf(map);
+		}
+	};
+}
@@ -618,6 +618,11 @@ public enum DefaultAtomSqlType implements AtomSqlType {
 			return rs.getBoolean(columnIndex);
 		}
 
+		@Override
+		public boolean getBoolean(ResultSet rs, int columnIndex) throws SQLException {
+			return rs.getBoolean(columnIndex);
+		}
+
 		@Override
 		public AtomSqlType toTypeArgument() {
 			return BOOLEAN;
@@ -651,6 +656,11 @@ public enum DefaultAtomSqlType implements AtomSqlType {
 			return rs.getDouble(columnIndex);
 		}
 
+		@Override
+		public double getDouble(ResultSet rs, int columnIndex) throws SQLException {
+			return rs.getDouble(columnIndex);
+		}
+
 		@Override
 		public AtomSqlType toTypeArgument() {
 			return DOUBLE;
@@ -717,6 +727,11 @@ public enum DefaultAtomSqlType implements AtomSqlType {
 			return rs.getInt(columnIndex);
 		}
 
+		@Override
+		public int getInt(ResultSet rs, int columnIndex) throws SQLException {
+			return rs.getInt(columnIndex);
+		}
+
 		@Override
 		public AtomSqlType toTypeArgument() {
 			return INTEGER;
@@ -750,6 +765,11 @@ public enum DefaultAtomSqlType implements AtomSqlType {
 			return rs.getLong(columnIndex);
 		}
 
+		@Override
+		public long getLong(ResultSet rs, int columnIndex) throws SQLException {
+			return rs.getLong(columnIndex);
+		}
+
 		@Override
 		public AtomSqlType toTypeArgument() {
 			return LONG;
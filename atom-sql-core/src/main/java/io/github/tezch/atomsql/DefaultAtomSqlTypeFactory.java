@@ -27,6 +27,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import io.github.tezch.atomsql.annotation.StringEnum;
 import io.github.tezch.atomsql.type.CsvType;
@@ -86,6 +88,19 @@ public class DefaultAtomSqlTypeFactory implements AtomSqlTypeFactory {
 		TIME,
 	};
 
+	private static final Set<Class<?>> nonPrimitiveClasses = Arrays.stream(nonPrimitiveTypes)
+		.map(t -> t.type())
+		.collect(Collectors.toUnmodifiableSet());
+
+	//Enumの場合、AtomSqlTypeの作成時にリフレクションを使用するので、クラスごとに一度だけ解決する
+	private final ClassValue<AtomSqlType> selectedTypes = new ClassValue<>() {
+
+		@Override
+		protected AtomSqlType computeValue(Class<?> c) {
+			return selectInternal(c);
+		}
+	};
+
 	/**
 	 * singleton
 	 */
@@ -107,7 +122,11 @@ public class DefaultAtomSqlTypeFactory implements AtomSqlTypeFactory {
 
 	@Override
 	public AtomSqlType select(Class<?> c) {
-		var type = typeMap.get(Objects.requireNonNull(c));
+		return selectedTypes.get(Objects.requireNonNull(c));
+	}
+
+	private AtomSqlType selectInternal(Class<?> c) {
+		var type = typeMap.get(c);
 
 		if (type == null) {
 			if (!c.isEnum()) throw new UnknownSqlTypeException(c);
@@ -132,7 +151,7 @@ public class DefaultAtomSqlTypeFactory implements AtomSqlTypeFactory {
 	public boolean canUse(Class<?> c) {
 		if (c.isEnum()) return true;
 
-		return Arrays.stream(nonPrimitiveTypes).map(t -> t.type()).filter(t -> t.equals(c)).findFirst().isPresent();
+		return nonPrimitiveClasses.contains(c);
 	}
 
 	@Override
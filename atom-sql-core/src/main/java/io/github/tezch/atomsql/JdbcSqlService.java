@@ -7,11 +7,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -19,34 +22,67 @@ import java.util.stream.StreamSupport;
 import io.github.tezch.atomsql.internal.SimpleConnectionProxy;
 
 /**
- * JDBCを使用した{@link SqlService}の簡易実装クラスです。
+ * JDBCを使用した{@link SqlService}の簡易実装クラスです。<br>
+ * {@link #borrowConnection(Consumer)}中は、同一の{@link Connection}で作成した{@link PreparedStatement}をSQLごとにキャッシュし、再利用します。<br>
+ * キャッシュの最大値は{@link Configuration#statementCacheCapacity()}で指定します。
  * @author tezch
  */
 public class JdbcSqlService implements SqlService {
 
 	private final Supplier<Connection> supplier;
 
-	private final ThreadLocal<Connection> connection = new ThreadLocal<>();
+	private final IntSupplier statementCacheCapacity;
+
+	private final ThreadLocal<BorrowedConnection> connection = new ThreadLocal<>();
+
+	private final LongAdder cachedStatements = new LongAdder();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
 
 	/**
-	 * 単一のコンストラクタです。
+	 * {@link PreparedStatement}のキャッシュの最大値に{@link Configuration#statementCacheCapacity()}を使用するコンストラクタです。<br>
+	 * 設定は{@link #borrowConnection(Consumer)}の都度参照されます。
 	 * @param supplier {@link Connection}の供給元
 	 */
 	public JdbcSqlService(Supplier<Connection> supplier) {
 		this.supplier = Objects.requireNonNull(supplier);
+		statementCacheCapacity = () -> AtomSql.configuration().statementCacheCapacity();
+	}
+
+	/**
+	 * {@link PreparedStatement}のキャッシュの最大値を指定するコンストラクタです。
+	 * @param supplier {@link Connection}の供給元
+	 * @param statementCacheCapacity {@link Connection}ごとの{@link PreparedStatement}のキャッシュの最大値 0以下の場合、キャッシュは行わない
+	 */
+	public JdbcSqlService(Supplier<Connection> supplier, int statementCacheCapacity) {
+		this.supplier = Objects.requireNonNull(supplier);
+		this.statementCacheCapacity = () -> statementCacheCapacity;
 	}
 
 	@Override
 	public int[] batchUpdate(String sql, BatchPreparedStatementSetter bpss) {
-		try (var conn = connection()) {
-			try (var ps = conn.prepareStatement(AtomSql.NEW_LINE + sql)) {
-				var size = bpss.getBatchSize();
-				for (var i = 0; i < size; i++) {
-					bpss.setValues(ps, i);
-					ps.addBatch();
-				}
+		StatementCallback<int[]> callback = ps -> {
+			var size = bpss.getBatchSize();
+			for (var i = 0; i < size; i++) {
+				bpss.setValues(ps, i);
+				ps.addBatch();
+			}
+
+			return ps.executeBatch();
+		};
+
+		try {
+			var borrowed = connection.get();
+			if (borrowed != null) return borrowed.execute(sql, callback);
 
-				return ps.executeBatch();
+			try (var conn = supplier.get()) {
+				try (var ps = conn.prepareStatement(AtomSql.NEW_LINE + sql)) {
+					return callback.doInStatement(ps);
+				}
 			}
 		} catch (SQLException e) {
 			throw new AtomSqlException(e);
@@ -59,11 +95,33 @@ public class JdbcSqlService implements SqlService {
 		PreparedStatementSetter pss,
 		RowMapper<T> rowMapper,
 		SqlProxySnapshot snapshot) {
-		Connection conn = connection();
+		return queryForStream(sql, pss, rowMapper, QueryHints.NONE, snapshot);
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * {@link PreparedStatement}は前方向のみ、読み取り専用として作成します。
+	 */
+	@Override
+	public <T> Stream<T> queryForStream(
+		String sql,
+		PreparedStatementSetter pss,
+		RowMapper<T> rowMapper,
+		QueryHints hints,
+		SqlProxySnapshot snapshot) {
+		var borrowed = connection.get();
+		Connection conn = null;
 		PreparedStatement ps = null;
 		ResultSet rs = null;
 		try {
-			ps = conn.prepareStatement(AtomSql.NEW_LINE + sql);
+			if (borrowed == null) {
+				conn = supplier.get();
+				ps = prepareQuery(conn, sql);
+			} else {
+				ps = borrowed.take(sql, true);
+			}
+
+			hints.apply(ps);
 
 			pss.setValues(ps);
 
@@ -76,11 +134,12 @@ public class JdbcSqlService implements SqlService {
 					Spliterator.NONNULL | Spliterator.IMMUTABLE),
 				false);
 
+			var fconn = conn;
 			var fps = ps;
 			var frs = rs;
 			stream.onClose(() -> {
 				try {
-					close(frs, fps, conn);
+					close(frs, fps, fconn, borrowed, sql, hints, true);
 				} catch (SQLException e) {
 					throw new AtomSqlException(e);
 				}
@@ -89,7 +148,7 @@ public class JdbcSqlService implements SqlService {
 			return stream;
 		} catch (SQLException e) {
 			try {
-				close(rs, ps, conn);
+				close(rs, ps, conn, borrowed, sql, hints, false);
 			} catch (SQLException ex) {
 				e.addSuppressed(ex);
 			}
@@ -97,7 +156,7 @@ public class JdbcSqlService implements SqlService {
 			throw new AtomSqlException(e);
 		} catch (Exception e) {
 			try {
-				close(rs, ps, conn);
+				close(rs, ps, conn, borrowed, sql, hints, false);
 			} catch (SQLException ex) {
 				e.addSuppressed(ex);
 			}
@@ -106,17 +165,100 @@ public class JdbcSqlService implements SqlService {
 		}
 	}
 
-	private static void close(ResultSet rs, PreparedStatement ps, Connection conn) throws SQLException {
-		try (rs; ps; conn) {}
+	/**
+	 * {@inheritDoc}<br>
+	 * {@link PreparedStatement}は前方向のみ、読み取り専用として作成します。
+	 */
+	@Override
+	public ColumnarResult queryForColumns(
+		String sql,
+		PreparedStatementSetter pss,
+		QueryHints hints,
+		SqlProxySnapshot snapshot) {
+		var borrowed = connection.get();
+		Connection conn = null;
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+
+		ColumnarResult result;
+		try {
+			if (borrowed == null) {
+				conn = supplier.get();
+				ps = prepareQuery(conn, sql);
+			} else {
+				ps = borrowed.take(sql, true);
+			}
+
+			hints.apply(ps);
+
+			pss.setValues(ps);
+
+			rs = ps.executeQuery();
+
+			result = ColumnarResult.of(rs);
+		} catch (SQLException | RuntimeException e) {
+			try {
+				close(rs, ps, conn, borrowed, sql, hints, false);
+			} catch (SQLException ex) {
+				e.addSuppressed(ex);
+			}
+
+			if (e instanceof SQLException sqlException) throw new AtomSqlException(sqlException);
+
+			throw (RuntimeException) e;
+		}
+
+		try {
+			close(rs, ps, conn, borrowed, sql, hints, true);
+		} catch (SQLException e) {
+			throw new AtomSqlException(e);
+		}
+
+		return result;
+	}
+
+	private static void close(
+		ResultSet rs,
+		PreparedStatement ps,
+		Connection conn,
+		BorrowedConnection borrowed,
+		String sql,
+		QueryHints hints,
+		boolean reusable) throws SQLException {
+		if (borrowed == null) {
+			try (rs; ps; conn) {}
+			return;
+		}
+
+		//borrowConnection中のConnectionは閉じず、PreparedStatementはキャッシュに戻す
+		try (rs) {} finally {
+			if (ps != null) borrowed.release(sql, ps, hints, reusable);
+		}
+	}
+
+	/**
+	 * ドライバが検索結果を全件保持せずに済むよう、前方向のみ、読み取り専用であることを明示する
+	 */
+	private static PreparedStatement prepareQuery(Connection conn, String sql) throws SQLException {
+		return conn.prepareStatement(AtomSql.NEW_LINE + sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 	}
 
 	@Override
 	public int update(String sql, PreparedStatementSetter pss, SqlProxySnapshot snapshot) {
-		try (var conn = connection()) {
-			try (var ps = conn.prepareStatement(AtomSql.NEW_LINE + sql)) {
-				pss.setValues(ps);
+		StatementCallback<Integer> callback = ps -> {
+			pss.setValues(ps);
 
-				return ps.executeUpdate();
+			return ps.executeUpdate();
+		};
+
+		try {
+			var borrowed = connection.get();
+			if (borrowed != null) return borrowed.execute(sql, callback);
+
+			try (var conn = supplier.get()) {
+				try (var ps = conn.prepareStatement(AtomSql.NEW_LINE + sql)) {
+					return callback.doInStatement(ps);
+				}
 			}
 		} catch (SQLException e) {
 			throw new AtomSqlException(e);
@@ -146,12 +288,22 @@ public class JdbcSqlService implements SqlService {
 		bindingValues.forEach(p -> logger.log(Level.INFO, p.name() + ": " + p.value()));
 	}
 
+	/**
+	 * {@inheritDoc}<br>
+	 * 実行中は同一の{@link Connection}の使用を強制し、作成した{@link PreparedStatement}をキャッシュします。<br>
+	 * キャッシュされた{@link PreparedStatement}は終了時に閉じられます。
+	 */
 	@Override
 	public void borrowConnection(Consumer<ConnectionProxy> consumer) {
 		try (var conn = supplier.get()) {
-			connection.set(conn);
+			var borrowed = new BorrowedConnection(conn, statementCacheCapacity.getAsInt());
+			connection.set(borrowed);
 
-			consumer.accept(new SimpleConnectionProxy(conn));
+			try {
+				consumer.accept(new SimpleConnectionProxy(conn));
+			} finally {
+				borrowed.close();
+			}
 		} catch (SQLException e) {
 			throw new AtomSqlException(e);
 		} finally {
@@ -160,11 +312,139 @@ public class JdbcSqlService implements SqlService {
 	}
 
 	/**
-	 * borrowConnection中は同一のConnectionの使用を強制する
+	 * {@link #borrowConnection(Consumer)}中にキャッシュされる{@link PreparedStatement}の統計情報を返します。<br>
+	 * 値はこのインスタンスで借り出されたすべての{@link Connection}の合計です。<br>
+	 * キャッシュを使用しない設定の場合、全項目が0となります。
+	 * @return 統計情報
 	 */
-	private Connection connection() {
-		var con = connection.get();
-		return con == null ? supplier.get() : con;
+	public CacheStatistics statementCacheStatistics() {
+		var capacity = statementCacheCapacity.getAsInt();
+		if (capacity <= 0) return CacheStatistics.disabled;
+
+		return new CacheStatistics(capacity, cachedStatements.intValue(), hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	@FunctionalInterface
+	private static interface StatementCallback<T> {
+
+		T doInStatement(PreparedStatement ps) throws SQLException;
+	}
+
+	/**
+	 * borrowConnection中のConnectionと、そのConnectionで作成したPreparedStatementのキャッシュ<br>
+	 * 借り出したスレッドからのみ使用される
+	 */
+	private class BorrowedConnection {
+
+		private final Connection connection;
+
+		private final int capacity;
+
+		//参照順に並ぶSQLとPreparedStatementの対応
+		//使用中のものは取り出されているため、同じSQLが並行して実行されても同一のPreparedStatementを共有することはない
+		private final LinkedHashMap<String, PreparedStatement> statements;
+
+		private boolean closed;
+
+		private BorrowedConnection(Connection connection, int capacity) {
+			this.connection = connection;
+			this.capacity = capacity;
+			statements = capacity > 0 ? new LinkedHashMap<>(16, 0.75f, true) : null;
+		}
+
+		private <T> T execute(String sql, StatementCallback<T> callback) throws SQLException {
+			var ps = take(sql, false);
+
+			var succeeded = false;
+			try {
+				var result = callback.doInStatement(ps);
+				succeeded = true;
+				return result;
+			} finally {
+				//失敗したものは状態が不明なため再利用しない
+				release(sql, ps, QueryHints.NONE, succeeded);
+			}
+		}
+
+		/**
+		 * キャッシュからPreparedStatementを取り出す<br>
+		 * 存在しない場合は作成する
+		 */
+		private PreparedStatement take(String sql, boolean query) throws SQLException {
+			if (statements != null) {
+				var ps = statements.remove(sql);
+				if (ps != null) {
+					hits.increment();
+					cachedStatements.decrement();
+					return ps;
+				}
+
+				misses.increment();
+			}
+
+			return query ? prepareQuery(connection, sql) : connection.prepareStatement(AtomSql.NEW_LINE + sql);
+		}
+
+		/**
+		 * 使用が終わったPreparedStatementをキャッシュに戻す<br>
+		 * 戻せない場合は閉じる
+		 */
+		private void release(String sql, PreparedStatement ps, QueryHints hints, boolean reusable) throws SQLException {
+			if (statements == null || closed || !reusable) {
+				ps.close();
+				return;
+			}
+
+			//保持している値を解放する
+			ps.clearParameters();
+
+			//別の実行に持ち越さないよう、設定した値を戻す
+			if (hints.fetchSize() != 0) ps.setFetchSize(0);
+			if (hints.maxRows() != 0) ps.setMaxRows(0);
+
+			var previous = statements.put(sql, ps);
+			if (previous == null) {
+				cachedStatements.increment();
+			} else {
+				//同じSQLが並行して実行されていた場合、後から戻されたものを残す
+				previous.close();
+			}
+
+			if (statements.size() <= capacity) return;
+
+			var iterator = statements.values().iterator();
+			var eldest = iterator.next();
+			iterator.remove();
+
+			cachedStatements.decrement();
+			evictions.increment();
+
+			eldest.close();
+		}
+
+		private void close() throws SQLException {
+			closed = true;
+
+			if (statements == null) return;
+
+			SQLException exception = null;
+			for (var ps : statements.values()) {
+				try {
+					ps.close();
+				} catch (SQLException e) {
+					if (exception == null) {
+						exception = e;
+					} else {
+						exception.addSuppressed(e);
+					}
+				}
+			}
+
+			cachedStatements.add(-statements.size());
+			statements.clear();
+
+			if (exception != null) throw exception;
+		}
 	}
 
 	private static class ResultSetIterator<T> implements Iterator<T> {
@@ -1,8 +1,9 @@
 package io.github.tezch.atomsql;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -24,6 +25,26 @@ import io.github.tezch.atomsql.annotation.SqlProxy;
  */
 public class Protoatom<T, A> {
 
+	//変数展開用クラスごとのコンストラクタとフィールド
+	private static final ClassValue<Implanter> implanters = new ClassValue<>() {
+
+		@Override
+		protected Implanter computeValue(Class<?> type) {
+			try {
+				var fields = type.getDeclaredFields();
+				for (var field : fields) {
+					field.setAccessible(true);
+				}
+
+				return new Implanter(type.getConstructor(), fields);
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
+	private static record Implanter(Constructor<?> constructor, Field[] fields) {}
+
 	private final Atom<T> atom;
 
 	private final Class<?> implanterClass;
@@ -40,10 +61,12 @@ public class Protoatom<T, A> {
 	 * @return 展開された新しい{@link Atom}
 	 */
 	public Atom<T> implant(Consumer<A> consumer) {
+		var implanterInfo = implanters.get(implanterClass);
+
 		Object instance;
 		try {
-			instance = implanterClass.getConstructor().newInstance();
-		} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | InstantiationException e) {
+			instance = implanterInfo.constructor.newInstance();
+		} catch (InvocationTargetException | IllegalAccessException | InstantiationException e) {
 			throw new IllegalStateException(e);
 		}
 
@@ -52,20 +75,18 @@ public class Protoatom<T, A> {
 
 		consumer.accept(implanter);
 
-		Map<String, Atom<?>> map = new HashMap<>();
-		Arrays.stream(implanterClass.getDeclaredFields()).forEach(f -> {
-			f.setAccessible(true);
-
+		Map<String, Atom<?>> map = new LinkedHashMap<>();
+		for (var f : implanterInfo.fields) {
 			try {
 				var value = (Atom<?>) f.get(implanter);
 
-				if (value == null) return;
+				if (value == null) continue;
 
 				map.put(f.getName(), value);
 			} catch (IllegalAccessException e) {
 				throw new IllegalStateException(e);
 			}
-		});
+		}
 
 		return atom.implant(map);
 	}
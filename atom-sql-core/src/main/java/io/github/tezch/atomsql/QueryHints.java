@@ -0,0 +1,65 @@
+package io.github.tezch.atomsql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.github.tezch.atomsql.annotation.FetchSize;
+import io.github.tezch.atomsql.annotation.MaxRows;
+
+/**
+ * 検索実行時に{@link PreparedStatement}に設定する値を保持するレコードです。<br>
+ * 値が0の場合は設定を行わず、ドライバのデフォルトが使用されます。
+ * @see FetchSize
+ * @see MaxRows
+ * @see Atom#fetchSize(int)
+ * @see Atom#maxRows(int)
+ * @author tezch
+ * @param fetchSize {@link PreparedStatement#setFetchSize(int)}に設定する値
+ * @param maxRows {@link PreparedStatement#setMaxRows(int)}に設定する値
+ */
+public record QueryHints(int fetchSize, int maxRows) {
+
+	/**
+	 * 何も設定しない場合のインスタンス
+	 */
+	public static final QueryHints NONE = new QueryHints(0, 0);
+
+	/**
+	 * コンストラクタ
+	 * @param fetchSize {@link PreparedStatement#setFetchSize(int)}に設定する値 ドライバによっては負の値に意味を持つため、0以外は全て設定する
+	 * @param maxRows {@link PreparedStatement#setMaxRows(int)}に設定する値
+	 * @throws IllegalArgumentException maxRowsが負の場合
+	 */
+	public QueryHints {
+		if (maxRows < 0) throw new IllegalArgumentException("maxRows must be greater than or equal to 0");
+	}
+
+	/**
+	 * fetchSizeを変更したインスタンスを返します。
+	 * @param fetchSize {@link PreparedStatement#setFetchSize(int)}に設定する値
+	 * @return 新しいインスタンス
+	 */
+	public QueryHints withFetchSize(int fetchSize) {
+		return new QueryHints(fetchSize, maxRows);
+	}
+
+	/**
+	 * maxRowsを変更したインスタンスを返します。
+	 * @param maxRows {@link PreparedStatement#setMaxRows(int)}に設定する値
+	 * @return 新しいインスタンス
+	 */
+	public QueryHints withMaxRows(int maxRows) {
+		return new QueryHints(fetchSize, maxRows);
+	}
+
+	/**
+	 * 値を{@link PreparedStatement}に設定します。<br>
+	 * 値が0の項目は設定されません。
+	 * @param ps 対象となる{@link PreparedStatement}
+	 * @throws SQLException 設定に失敗した場合
+	 */
+	public void apply(PreparedStatement ps) throws SQLException {
+		if (fetchSize != 0) ps.setFetchSize(fetchSize);
+		if (maxRows != 0) ps.setMaxRows(maxRows);
+	}
+}
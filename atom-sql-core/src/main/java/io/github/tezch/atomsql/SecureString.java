@@ -2,30 +2,43 @@ package io.github.tezch.atomsql;
 
 import java.util.Set;
 
-import io.github.tezch.atomsql.SqlComposite.Placeholder;
-import io.github.tezch.atomsql.SqlComposite.Prototype;
-import io.github.tezch.atomsql.SqlComposite.Text;
-
 final class SecureString {
 
 	private static Set<Class<?>> permittedCallers = Set.of(
-		Text.class,
-		Placeholder.class,
-		Prototype.class,
 		SqlComposite.class,
 		Atom.class,
 		AtomSql.class);
 
 	private final String value;
 
-	SecureString(String value) {
+	private SecureString(String value) {
+		this.value = value;
+	}
+
+	/**
+	 * 生成用オブジェクトを返します。<br>
+	 * 呼び出し元の確認は取得時に一度だけ行われるので、取得したクラスはprivateなstaticフィールドに保持し、外部に渡さないこと
+	 */
+	static Factory factory() {
 		var caller = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
 
 		if (!permittedCallers.contains(caller)) {
 			throw new SecurityException("Direct access not allowed");
 		}
 
-		this.value = value;
+		return new Factory();
+	}
+
+	/**
+	 * 許可されたクラスのみが保持する生成用オブジェクト
+	 */
+	static final class Factory {
+
+		private Factory() {}
+
+		SecureString create(String value) {
+			return new SecureString(value);
+		}
 	}
 
 	@Override
@@ -13,6 +13,9 @@ import io.github.tezch.atomsql.annotation.Qualifier;
  * @param typeFactoryClass {@link AtomSqlTypeFactory}
  * @param batchThreshold バッチ更新時の閾値
  * @param cacheCapacity キャッシュの最大値
+ * @param usesCsvPadding {@link Csv}の値の数を2のべき乗まで最後の値で埋めるかどうか
+ * @param statementCacheCapacity {@link JdbcSqlService}がConnectionごとにキャッシュするPreparedStatementの最大値
+ * @param adaptiveFetchSize メソッドごとの過去の検索結果件数からフェッチサイズを決定するかどうか
  */
 public record SimpleConfiguration(
 	boolean enableLog,
@@ -21,13 +24,115 @@ public record SimpleConfiguration(
 	boolean usesQualifier,
 	String typeFactoryClass,
 	int batchThreshold,
-	int cacheCapacity) implements Configuration {
+	int cacheCapacity,
+	boolean usesCsvPadding,
+	int statementCacheCapacity,
+	boolean adaptiveFetchSize) implements Configuration {
+
+	/**
+	 * adaptiveFetchSizeをfalseとしてインスタンスを生成します。
+	 * @param enableLog SQLログを出力するかどうか
+	 * @param logStacktracePattern SQLログに含まれる呼び出し元情報のフィルタパターン（正規表現）
+	 * @param shouldIgnoreNoSqlLog アノテーション{@link NoSqlLog}が付与されていても、それを無視してSQLログを出力するかどうか
+	 * @param usesQualifier {@link Qualifier}を使用するかどうか
+	 * @param typeFactoryClass {@link AtomSqlTypeFactory}
+	 * @param batchThreshold バッチ更新時の閾値
+	 * @param cacheCapacity キャッシュの最大値
+	 * @param usesCsvPadding {@link Csv}の値の数を2のべき乗まで最後の値で埋めるかどうか
+	 * @param statementCacheCapacity {@link JdbcSqlService}がConnectionごとにキャッシュするPreparedStatementの最大値
+	 */
+	public SimpleConfiguration(
+		boolean enableLog,
+		String logStacktracePattern,
+		boolean shouldIgnoreNoSqlLog,
+		boolean usesQualifier,
+		String typeFactoryClass,
+		int batchThreshold,
+		int cacheCapacity,
+		boolean usesCsvPadding,
+		int statementCacheCapacity) {
+		this(
+			enableLog,
+			logStacktracePattern,
+			shouldIgnoreNoSqlLog,
+			usesQualifier,
+			typeFactoryClass,
+			batchThreshold,
+			cacheCapacity,
+			usesCsvPadding,
+			statementCacheCapacity,
+			false);
+	}
+
+	/**
+	 * statementCacheCapacityを0としてインスタンスを生成します。
+	 * @param enableLog SQLログを出力するかどうか
+	 * @param logStacktracePattern SQLログに含まれる呼び出し元情報のフィルタパターン（正規表現）
+	 * @param shouldIgnoreNoSqlLog アノテーション{@link NoSqlLog}が付与されていても、それを無視してSQLログを出力するかどうか
+	 * @param usesQualifier {@link Qualifier}を使用するかどうか
+	 * @param typeFactoryClass {@link AtomSqlTypeFactory}
+	 * @param batchThreshold バッチ更新時の閾値
+	 * @param cacheCapacity キャッシュの最大値
+	 * @param usesCsvPadding {@link Csv}の値の数を2のべき乗まで最後の値で埋めるかどうか
+	 */
+	public SimpleConfiguration(
+		boolean enableLog,
+		String logStacktracePattern,
+		boolean shouldIgnoreNoSqlLog,
+		boolean usesQualifier,
+		String typeFactoryClass,
+		int batchThreshold,
+		int cacheCapacity,
+		boolean usesCsvPadding) {
+		this(
+			enableLog,
+			logStacktracePattern,
+			shouldIgnoreNoSqlLog,
+			usesQualifier,
+			typeFactoryClass,
+			batchThreshold,
+			cacheCapacity,
+			usesCsvPadding,
+			0,
+			false);
+	}
+
+	/**
+	 * usesCsvPaddingをfalseとしてインスタンスを生成します。
+	 * @param enableLog SQLログを出力するかどうか
+	 * @param logStacktracePattern SQLログに含まれる呼び出し元情報のフィルタパターン（正規表現）
+	 * @param shouldIgnoreNoSqlLog アノテーション{@link NoSqlLog}が付与されていても、それを無視してSQLログを出力するかどうか
+	 * @param usesQualifier {@link Qualifier}を使用するかどうか
+	 * @param typeFactoryClass {@link AtomSqlTypeFactory}
+	 * @param batchThreshold バッチ更新時の閾値
+	 * @param cacheCapacity キャッシュの最大値
+	 */
+	public SimpleConfiguration(
+		boolean enableLog,
+		String logStacktracePattern,
+		boolean shouldIgnoreNoSqlLog,
+		boolean usesQualifier,
+		String typeFactoryClass,
+		int batchThreshold,
+		int cacheCapacity) {
+		this(
+			enableLog,
+			logStacktracePattern,
+			shouldIgnoreNoSqlLog,
+			usesQualifier,
+			typeFactoryClass,
+			batchThreshold,
+			cacheCapacity,
+			false,
+			0,
+			false);
+	}
 
 	/**
 	 * スタブ設定
 	 * @return スタブ設定
 	 */
 	public static Configuration stub() {
-		return new SimpleConfiguration(false, null, false, false, null, 0, 0);
+		return new SimpleConfiguration(false, null, false, false, null, 0, 0, false, 0, false);
 	}
 }
@@ -1,29 +1,52 @@
 package io.github.tezch.atomsql;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
 
-import io.github.tezch.atomsql.internal.SqlMasker;
 import io.github.tezch.atomsql.type.CsvType;
 
 class SqlComposite {
 
-	static final SqlComposite EMPTY = new SqlComposite(new SecureString(""));
+	//SecureStringは許可されたクラスからのみ生成可能
+	private static final SecureString.Factory secureStrings = SecureString.factory();
 
-	static final SqlComposite BLANK = new SqlComposite(new SecureString(" "));
+	static final SqlComposite EMPTY = new SqlComposite(secureStrings.create(""));
 
-	static final SqlComposite AND = new SqlComposite(new SecureString(" AND "));
+	static final SqlComposite BLANK = new SqlComposite(secureStrings.create(" "));
 
-	static final SqlComposite OR = new SqlComposite(new SecureString(" OR "));
+	static final SqlComposite AND = new SqlComposite(secureStrings.create(" AND "));
+
+	static final SqlComposite OR = new SqlComposite(secureStrings.create(" OR "));
 
 	static record SqlCompositeHelper(
 		List<Component> prototypes,
 		String[] parameterNames,
+		boolean containsNonThreadSafeValue,
+		Precompiled precompiled) {
+
+		SqlCompositeHelper(List<Component> prototypes, String[] parameterNames, boolean containsNonThreadSafeValue) {
+			this(
+				prototypes,
+				parameterNames,
+				containsNonThreadSafeValue,
+				precompile(prototypes, parameterNames, containsNonThreadSafeValue));
+		}
+	}
+
+	/**
+	 * 値によってSQLが変化しない場合に、事前に組み立てておいたSQLとプレースホルダの情報
+	 */
+	static record Precompiled(
+		Component[] components, //値が未設定のプレースホルダを含む
+		int[] slots, //componentごとの値の位置 プレースホルダ以外は-1
+		int placeholderCount,
+		SecureString sql,
 		boolean containsNonThreadSafeValue) {}
 
 	static record Compiled(List<Placeholder> placeholders, SecureString sql) {
@@ -37,6 +60,8 @@ class SqlComposite {
 		SqlCompositeHelper helper,
 		Object[] args,
 		AtomSqlTypeFactory typeFactory) {
+		if (helper.precompiled != null) return createSqlComposite(helper.precompiled, args);
+
 		Map<String, Object> map = new HashMap<>();
 		for (int i = 0; i < helper.parameterNames.length; i++) {
 			map.put(helper.parameterNames[i], args[i]);
@@ -56,8 +81,114 @@ class SqlComposite {
 		return new SqlComposite(components, containsNonThreadSafeValue);
 	}
 
+	private static SqlComposite createSqlComposite(Precompiled precompiled, Object[] args) {
+		var template = precompiled.components;
+		var slots = precompiled.slots;
+
+		var components = new Component[template.length];
+		var placeholders = new Placeholder[precompiled.placeholderCount];
+
+		int index = 0;
+		for (int i = 0; i < template.length; i++) {
+			var slot = slots[i];
+			if (slot < 0) {
+				components[i] = template[i];
+				continue;
+			}
+
+			var placeholder = ((Placeholder) template[i]).withValue(args[slot]);
+
+			components[i] = placeholder;
+			placeholders[index++] = placeholder;
+		}
+
+		//内部でのみ使用し変更されることはないため、コピーせずにそのまま使用する
+		return new SqlComposite(
+			Arrays.asList(components),
+			new Compiled(Arrays.asList(placeholders), precompiled.sql),
+			precompiled.containsNonThreadSafeValue);
+	}
+
+	/**
+	 * 全てのプレースホルダの型が値によって変化せず、SQL上の表現も値によって変化しない場合、SQLを事前に組み立てる<br>
+	 * 組み立てられない場合はnullを返す
+	 */
+	private static Precompiled precompile(
+		List<Component> prototypes,
+		String[] parameterNames,
+		boolean containsNonThreadSafeValue) {
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < parameterNames.length; i++) {
+			indexes.put(parameterNames[i], i);
+		}
+
+		var size = prototypes.size();
+
+		var components = new Component[size];
+		var slots = new int[size];
+		int placeholderCount = 0;
+		boolean nonThreadSafe = false;
+
+		var builder = new StringBuilder();
+
+		for (int i = 0; i < size; i++) {
+			var component = prototypes.get(i);
+
+			if (component instanceof Prototype prototype) {
+				var type = prototype.type;
+
+				if (!hasStaticExpression(type)) return null;
+
+				var expression = secureStrings.create(type.placeholderExpression(null));
+
+				builder.append(expression);
+
+				components[i] = new Placeholder(
+					prototype.name,
+					prototype.sensitive,
+					expression,
+					prototype.original,
+					type,
+					type,
+					null);
+				slots[i] = indexes.get(prototype.name);
+
+				placeholderCount++;
+
+				nonThreadSafe = nonThreadSafe || type.nonThreadSafe();
+			} else {
+				component.appendTo(builder);
+
+				components[i] = component;
+				slots[i] = -1;
+			}
+		}
+
+		return new Precompiled(
+			components,
+			slots,
+			placeholderCount,
+			secureStrings.create(builder.toString()),
+			//processor処理時にnonThreadSafeと判定されている場合のみ、型で再度確認
+			containsNonThreadSafeValue && nonThreadSafe);
+	}
+
+	/**
+	 * 型が値によって変化せず、プレースホルダの表現も{@link AtomSqlType}のデフォルトのままであるか
+	 */
+	private static boolean hasStaticExpression(AtomSqlType type) {
+		if (type == DefaultAtomSqlType.OBJECT) return false;
+
+		try {
+			return type.getClass().getMethod("placeholderExpression", Object.class).getDeclaringClass()
+				.equals(AtomSqlType.class);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	static SqlComposite rebind(SqlComposite base, Map<String, Object> values, AtomSqlTypeFactory typeFactory) {
-		List<Component> components = base.components.stream().map(p -> p.bind(values, typeFactory)).toList();
+		List<Component> components = base.components().stream().map(p -> p.bind(values, typeFactory)).toList();
 
 		return new SqlComposite(
 			components,
@@ -67,8 +198,6 @@ class SqlComposite {
 
 	static interface Component {
 
-		void replaceAndAdd(Pattern pattern, SqlComposite another, List<Component> components);
-
 		void placeholder(Consumer<Placeholder> consumer);
 
 		Component bind(Map<String, Object> values, AtomSqlTypeFactory typeFactory);
@@ -87,28 +216,47 @@ class SqlComposite {
 	static record Text(SecureString text) implements Component {
 
 		@Override
-		public void replaceAndAdd(Pattern pattern, SqlComposite another, List<Component> components) {
-			var masker = new SqlMasker();
+		public void placeholder(Consumer<Placeholder> consumer) {}
 
-			String remain = masker.mask(text.toString());
-			while (true) {
-				var matcher = pattern.matcher(remain);
+		@Override
+		public Component bind(Map<String, Object> values, AtomSqlTypeFactory typeFactory) {
+			return this;
+		}
 
-				if (!matcher.find())
-					break;
+		@Override
+		public void appendTo(StringBuilder builder) {
+			builder.append(text);
+		}
 
-				components.add(
-					new Text(
-						new SecureString(
-							masker.unmask(remain.substring(0, matcher.start())))));
+		@Override
+		public void appendOriginalTo(StringBuilder builder) {
+			builder.append(text);
+		}
 
-				remain = remain.substring(matcher.end());
+		@Override
+		public boolean nonThreadSafeValue(AtomSqlTypeFactory typeFactory) {
+			return false;
+		}
 
-				components.addAll(another.components);
-			}
+		@Override
+		public boolean isEmpty() {
+			return text.toString().isEmpty();
+		}
 
-			components.add(new Text(new SecureString(masker.unmask(remain))));
+		@Override
+		public boolean isBlank() {
+			return text.toString().isBlank();
 		}
+	}
+
+	/**
+	 * /*${変数名}*&#47; 形式の{@link Atom}用変数<br>
+	 * {@link Atom#implant(Map)}等で展開されるまでは、元の文字列のままSQLに含まれる
+	 */
+	static record Variable(
+		String name, //変数名
+		SecureString text //元の変数文字列全体
+	) implements Component {
 
 		@Override
 		public void placeholder(Consumer<Placeholder> consumer) {}
@@ -135,12 +283,12 @@ class SqlComposite {
 
 		@Override
 		public boolean isEmpty() {
-			return text.toString().isEmpty();
+			return false;
 		}
 
 		@Override
 		public boolean isBlank() {
-			return text.toString().isBlank();
+			return false;
 		}
 	}
 
@@ -154,9 +302,8 @@ class SqlComposite {
 		Object value //値
 	) implements Component {
 
-		@Override
-		public void replaceAndAdd(Pattern pattern, SqlComposite another, List<Component> components) {
-			components.add(this);
+		Placeholder withValue(Object value) {
+			return new Placeholder(name, sensitive, expression, original, type, staticType, value);
 		}
 
 		@Override
@@ -178,7 +325,7 @@ class SqlComposite {
 			return new Placeholder(
 				name,
 				sensitive,
-				new SecureString(computedType.placeholderExpression(value)),
+				secureStrings.create(computedType.placeholderExpression(value)),
 				original,
 				computedType,
 				staticType,
@@ -202,7 +349,7 @@ class SqlComposite {
 
 		@Override
 		public boolean isEmpty() {
-			return false;
+			return expression.toString().isEmpty();
 		}
 
 		@Override
@@ -218,11 +365,6 @@ class SqlComposite {
 		AtomSqlType type //型
 	) implements Component {
 
-		@Override
-		public void replaceAndAdd(Pattern pattern, SqlComposite another, List<Component> components) {
-			throw new UnsupportedOperationException();
-		}
-
 		@Override
 		public void placeholder(Consumer<Placeholder> consumer) {
 			throw new UnsupportedOperationException();
@@ -237,7 +379,7 @@ class SqlComposite {
 			return new Placeholder(
 				name,
 				sensitive,
-				new SecureString(computedType.placeholderExpression(value)),
+				secureStrings.create(computedType.placeholderExpression(value)),
 				original,
 				computedType,
 				type,
@@ -281,85 +423,165 @@ class SqlComposite {
 
 	final boolean containsNonThreadSafeValue;
 
-	private final List<Component> components;
+	//連結により作成された場合の左右 部品を直接持つ場合はnull
+	private final SqlComposite left;
+
+	private final SqlComposite right;
+
+	//部品の総数
+	private final int size;
+
+	private final boolean empty;
+
+	private final boolean blank;
+
+	//連結により作成された場合、必要になった時点で一度だけ平坦化する
+	private volatile List<Component> components;
 
-	private final Compiled compiled;
+	//必要になった時点で一度だけ組み立てる
+	private volatile Compiled compiled;
 
 	private SqlComposite(List<Component> components, boolean containsNonThreadSafeValue) {
-		this.components = List.copyOf(new ArrayList<>(components));
+		this(List.copyOf(components), null, containsNonThreadSafeValue);
+	}
+
+	private SqlComposite(List<Component> components, Compiled compiled, boolean containsNonThreadSafeValue) {
+		left = null;
+		right = null;
+		this.components = components;
+		this.compiled = compiled;
 		this.containsNonThreadSafeValue = containsNonThreadSafeValue;
-		compiled = new Compiled(List.copyOf(placeholders()), new SecureString(string()));
+		size = components.size();
+		empty = components.stream().allMatch(Component::isEmpty);
+		blank = components.stream().allMatch(Component::isBlank);
 	}
 
 	private SqlComposite(SecureString text) {
-		this.components = Collections.singletonList(new Text(text));
-		containsNonThreadSafeValue = false;
-		compiled = new Compiled(placeholders(), new SecureString(string()));
+		this(Collections.singletonList(new Text(text)), null, false);
+	}
+
+	/**
+	 * 二つを連結したものを作成する<br>
+	 * 部品のコピーは行わず、両者をそのまま保持する
+	 */
+	private SqlComposite(SqlComposite left, SqlComposite right) {
+		this.left = left;
+		this.right = right;
+		containsNonThreadSafeValue = left.containsNonThreadSafeValue || right.containsNonThreadSafeValue;
+		size = left.size + right.size;
+		empty = left.empty && right.empty;
+		blank = left.blank && right.blank;
 	}
 
 	Compiled compiled() {
+		var compiled = this.compiled;
+		if (compiled == null) {
+			//同時に作成されても内容は同じなので排他は行わない
+			compiled = compile();
+			this.compiled = compiled;
+		}
+
 		return compiled;
 	}
 
-	List<Placeholder> placeholders() {
+	private Compiled compile() {
 		List<Placeholder> placeholders = new ArrayList<>();
-		components.forEach(e -> e.placeholder(placeholders::add));
+		var builder = new StringBuilder();
+		components().forEach(e -> {
+			e.placeholder(placeholders::add);
+			e.appendTo(builder);
+		});
 
-		return placeholders;
+		return new Compiled(Collections.unmodifiableList(placeholders), secureStrings.create(builder.toString()));
 	}
 
-	private String string() {
-		var builder = new StringBuilder();
-		components.forEach(e -> e.appendTo(builder));
+	private List<Component> components() {
+		var components = this.components;
+		if (components != null) return components;
 
-		return builder.toString();
+		List<Component> flattened = new ArrayList<>(size);
+
+		//連結が深くなってもスタックを消費しないように、再帰せずに左から順にたどる
+		var stack = new ArrayDeque<SqlComposite>();
+		stack.push(this);
+		while (!stack.isEmpty()) {
+			var current = stack.pop();
+
+			//既に平坦化されているものはそのまま使用する
+			var currentComponents = current.components;
+			if (currentComponents != null) {
+				flattened.addAll(currentComponents);
+				continue;
+			}
+
+			stack.push(current.right);
+			stack.push(current.left);
+		}
+
+		components = Collections.unmodifiableList(flattened);
+
+		//同時に作成されても内容は同じなので排他は行わない
+		this.components = components;
+
+		return components;
 	}
 
 	String originalString() {
 		var builder = new StringBuilder();
-		components.forEach(e -> e.appendOriginalTo(builder));
+		components().forEach(e -> e.appendOriginalTo(builder));
 
 		return builder.toString();
 	}
 
-	SqlComposite replace(Pattern pattern, SqlComposite another) {
-		List<Component> components = new ArrayList<>();
-		this.components.forEach(e -> e.replaceAndAdd(pattern, another, components));
+	/**
+	 * 指定された名前の{@link Variable}をanotherの内容に置き換えたものを返す<br>
+	 * 該当する{@link Variable}が存在しない場合、自身を返す
+	 */
+	SqlComposite replace(String name, SqlComposite another) {
+		var components = components();
+
+		List<Component> replaced = null;
+		for (int i = 0; i < components.size(); i++) {
+			var component = components.get(i);
+			if (!(component instanceof Variable variable) || !variable.name.equals(name)) {
+				if (replaced != null) replaced.add(component);
+				continue;
+			}
+
+			if (replaced == null) {
+				replaced = new ArrayList<>(components.size() + another.size);
+				replaced.addAll(components.subList(0, i));
+			}
+
+			replaced.addAll(another.components());
+		}
+
+		if (replaced == null) return this;
 
-		return new SqlComposite(components, containsNonThreadSafeValue || another.containsNonThreadSafeValue);
+		return new SqlComposite(replaced, containsNonThreadSafeValue || another.containsNonThreadSafeValue);
 	}
 
 	SqlComposite concat(SqlComposite another) {
-		List<Component> components = new ArrayList<>();
-		components.addAll(this.components);
-		components.addAll(another.components);
-
-		return new SqlComposite(components, containsNonThreadSafeValue || another.containsNonThreadSafeValue);
+		return new SqlComposite(this, another);
 	}
 
 	SqlComposite join(SecureString prefix, SecureString suffix) {
-		List<Component> components = new ArrayList<>();
-		components.add(new Text(prefix));
-		components.addAll(this.components);
-		components.add(new Text(suffix));
-
-		return new SqlComposite(components, containsNonThreadSafeValue);
+		return new SqlComposite(new SqlComposite(new SqlComposite(prefix), this), new SqlComposite(suffix));
 	}
 
+	/**
+	 * 組み立てられるSQLが空文字列かどうか
+	 */
 	boolean isEmpty() {
-		if (components.size() == 0) return true;
-
-		return components.stream().allMatch(Component::isEmpty);
+		return empty;
 	}
 
 	boolean isBlank() {
-		if (components.size() == 0) return true;
-
-		return components.stream().allMatch(Component::isBlank);
+		return blank;
 	}
 
 	@Override
 	public String toString() {
-		return string();
+		return compiled().sqlString();
 	}
 }
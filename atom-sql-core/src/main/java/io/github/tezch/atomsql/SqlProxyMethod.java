@@ -0,0 +1,124 @@
+package io.github.tezch.atomsql;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import io.github.tezch.atomsql.AtomSql.Invocation;
+import io.github.tezch.atomsql.annotation.SqlProxy;
+
+/**
+ * processorが生成した{@link SqlProxy}実装クラスから、メソッドを実行するためのクラスです。<br>
+ * 実装クラスはメソッドごとにこのクラスのインスタンスをstaticフィールドとして保持し、戻り値の型に対応するメソッドを直接呼び出します。<br>
+ * メタ情報の検索等は初回の呼び出し時に一度だけ行われます。<br>
+ * 生成されたクラスから使用されることを前提としているため、直接使用しないでください。
+ * @author tezch
+ */
+public final class SqlProxyMethod {
+
+	private final Class<?> proxyInterface;
+
+	private final Method method;
+
+	//初回の呼び出し時に作成する 競合しても同じ内容となるため、ロックは使用しない
+	private volatile Invocation invocation;
+
+	private SqlProxyMethod(Class<?> proxyInterface, Method method) {
+		this.proxyInterface = proxyInterface;
+		this.method = method;
+	}
+
+	/**
+	 * インスタンスを生成します。
+	 * @param proxyInterface {@link SqlProxy}が付与されたインターフェイス
+	 * @param name メソッド名
+	 * @param parameterTypes メソッドのパラメータの型
+	 * @return {@link SqlProxyMethod}
+	 * @throws NoSuchMethodError メソッドが存在しない場合
+	 */
+	public static SqlProxyMethod of(Class<?> proxyInterface, String name, Class<?>... parameterTypes) {
+		try {
+			return new SqlProxyMethod(proxyInterface, proxyInterface.getMethod(name, parameterTypes));
+		} catch (NoSuchMethodException e) {
+			throw new NoSuchMethodError(e.getMessage());
+		}
+	}
+
+	/**
+	 * 戻り値の型が{@link Atom}のメソッドを実行します。
+	 * @param <T> 検索結果の型
+	 * @param atomSql 実装クラスを生成した{@link AtomSql}
+	 * @param args メソッドの引数
+	 * @return {@link Atom}
+	 */
+	public <T> Atom<T> atom(AtomSql atomSql, Object... args) {
+		return atomSql.atom(method, invocation(), args);
+	}
+
+	/**
+	 * 戻り値の型が{@link Stream}のメソッドを実行します。
+	 * @param <T> 検索結果の型
+	 * @param atomSql 実装クラスを生成した{@link AtomSql}
+	 * @param args メソッドの引数
+	 * @return {@link Stream}
+	 */
+	public <T> Stream<T> stream(AtomSql atomSql, Object... args) {
+		return this.<T> atom(atomSql, args).stream();
+	}
+
+	/**
+	 * 戻り値の型が{@link List}のメソッドを実行します。
+	 * @param <T> 検索結果の型
+	 * @param atomSql 実装クラスを生成した{@link AtomSql}
+	 * @param args メソッドの引数
+	 * @return {@link List}
+	 */
+	public <T> List<T> list(AtomSql atomSql, Object... args) {
+		return this.<T> atom(atomSql, args).list();
+	}
+
+	/**
+	 * 戻り値の型が{@link Optional}のメソッドを実行します。
+	 * @param <T> 検索結果の型
+	 * @param atomSql 実装クラスを生成した{@link AtomSql}
+	 * @param args メソッドの引数
+	 * @return {@link Optional}
+	 */
+	public <T> Optional<T> get(AtomSql atomSql, Object... args) {
+		return this.<T> atom(atomSql, args).get();
+	}
+
+	/**
+	 * 戻り値の型がintまたはvoidのメソッドを実行します。
+	 * @param atomSql 実装クラスを生成した{@link AtomSql}
+	 * @param args メソッドの引数
+	 * @return 更新件数
+	 */
+	public int execute(AtomSql atomSql, Object... args) {
+		return atom(atomSql, args).execute();
+	}
+
+	/**
+	 * 戻り値の型が{@link Protoatom}のメソッドを実行します。
+	 * @param <T> 検索結果の型
+	 * @param <A> {@link Protoatom}のインターフェイス
+	 * @param atomSql 実装クラスを生成した{@link AtomSql}
+	 * @param args メソッドの引数
+	 * @return {@link Protoatom}
+	 */
+	public <T, A> Protoatom<T, A> protoatom(AtomSql atomSql, Object... args) {
+		var invocation = invocation();
+		return new Protoatom<>(atomSql.atom(method, invocation, args), invocation.metadata().protoatomImplanter());
+	}
+
+	private Invocation invocation() {
+		var invocation = this.invocation;
+		if (invocation == null) {
+			invocation = AtomSql.createInvocation(proxyInterface, method);
+			this.invocation = invocation;
+		}
+
+		return invocation;
+	}
+}
@@ -31,6 +31,58 @@ public interface SqlService {
 	 */
 	<T> Stream<T> queryForStream(String sql, PreparedStatementSetter pss, RowMapper<T> rowMapper, SqlProxySnapshot snapshot);
 
+	/**
+	 * SELECT等検索結果のあるsqlを、{@link QueryHints}を適用して実行します。<br>
+	 * デフォルト実装では、値のセットに先立って{@link QueryHints#apply(PreparedStatement)}を行います。
+	 * @param <T>
+	 * @param sql
+	 * @param pss
+	 * @param rowMapper
+	 * @param hints {@link PreparedStatement}に設定する値
+	 * @param snapshot
+	 * @return {@link Stream}
+	 */
+	default <T> Stream<T> queryForStream(
+		String sql,
+		PreparedStatementSetter pss,
+		RowMapper<T> rowMapper,
+		QueryHints hints,
+		SqlProxySnapshot snapshot) {
+		if (hints.equals(QueryHints.NONE)) return queryForStream(sql, pss, rowMapper, snapshot);
+
+		return queryForStream(sql, (ps, stackTrace) -> {
+			hints.apply(ps);
+			pss.setValues(ps, stackTrace);
+		}, rowMapper, snapshot);
+	}
+
+	/**
+	 * SELECT等検索結果のあるsqlを実行し、全行を{@link ColumnarResult}として読み込みます。<br>
+	 * 実装は{@link ColumnarResult#of(java.sql.ResultSet)}を使用し、検索結果が0件の場合もカラムを作成してください。<br>
+	 * デフォルト実装では{@link #queryForStream(String, PreparedStatementSetter, RowMapper, QueryHints, SqlProxySnapshot)}で一行ずつ読み込むため、検索結果が0件の場合はカラムを持ちません。
+	 * @param sql
+	 * @param pss
+	 * @param hints {@link PreparedStatement}に設定する値
+	 * @param snapshot
+	 * @return {@link ColumnarResult}
+	 */
+	default ColumnarResult queryForColumns(
+		String sql,
+		PreparedStatementSetter pss,
+		QueryHints hints,
+		SqlProxySnapshot snapshot) {
+		var reader = new ColumnarResult.Reader();
+
+		try (var stream = queryForStream(sql, pss, (r, n) -> {
+			reader.read(r);
+			return null;
+		}, hints, snapshot)) {
+			stream.forEach(r -> {});
+		}
+
+		return reader.result();
+	}
+
 	/**
 	 * UPDATE, INSERT等のsqlを実行します。
 	 * @param sql
@@ -0,0 +1,27 @@
+package io.github.tezch.atomsql.annotation;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import io.github.tezch.atomsql.Atom;
+
+/**
+ * 検索実行時に{@link java.sql.PreparedStatement#setFetchSize(int)}に設定する値を表すアノテーションです。<br>
+ * クラスとメソッドの両方に付与されている場合、メソッドのものが使用されます。<br>
+ * {@link Atom#fetchSize(int)}で指定された場合、そちらが優先されます。
+ * @author tezch
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface FetchSize {
+
+	/**
+	 * ドライバによっては負の値に意味を持つため、0以外は全て設定されます。
+	 * @return フェッチサイズ
+	 */
+	int value();
+}
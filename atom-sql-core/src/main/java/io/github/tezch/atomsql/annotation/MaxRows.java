@@ -0,0 +1,26 @@
+package io.github.tezch.atomsql.annotation;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import io.github.tezch.atomsql.Atom;
+
+/**
+ * 検索実行時に{@link java.sql.PreparedStatement#setMaxRows(int)}に設定する値を表すアノテーションです。<br>
+ * クラスとメソッドの両方に付与されている場合、メソッドのものが使用されます。<br>
+ * {@link Atom#maxRows(int)}で指定された場合、そちらが優先されます。
+ * @author tezch
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface MaxRows {
+
+	/**
+	 * @return 検索結果の最大件数
+	 */
+	int value();
+}
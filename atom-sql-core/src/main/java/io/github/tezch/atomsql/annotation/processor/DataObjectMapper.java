@@ -0,0 +1,46 @@
+package io.github.tezch.atomsql.annotation.processor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.github.tezch.atomsql.AtomSqlType;
+
+/**
+ * Atom SQL Processorが{@link io.github.tezch.atomsql.annotation.DataObject}ごとに生成する、検索結果の変換クラスが実装するインターフェイスです。<br>
+ * {@link io.github.tezch.atomsql.Atom}がリフレクションを使用せずに検索結果から{@link io.github.tezch.atomsql.annotation.DataObject}を作成するために使用します。
+ * @author tezch
+ */
+public interface DataObjectMapper {
+
+	/**
+	 * 値を取得するカラム名<br>
+	 * {@link ResultSet}を受け取るコンストラクタを使用する場合、空の配列となります。
+	 * @return カラム名
+	 */
+	String[] columns();
+
+	/**
+	 * 値を取得するための{@link AtomSqlType}を選択するための型<br>
+	 * {@link java.util.Optional}の場合は、その型引数となります。<br>
+	 * {@link #columns()}と同じ順序で返されます。
+	 * @return 型
+	 */
+	Class<?>[] types();
+
+	/**
+	 * カラムに{@link io.github.tezch.atomsql.annotation.OptionalColumn}が付与されているか<br>
+	 * {@link #columns()}と同じ順序で返されます。
+	 * @return {@link io.github.tezch.atomsql.annotation.OptionalColumn}が付与されている場合、true
+	 */
+	boolean[] optionalColumns();
+
+	/**
+	 * 現在の行から{@link io.github.tezch.atomsql.annotation.DataObject}を作成します。
+	 * @param rs 検索結果
+	 * @param types {@link #types()}から選択された{@link AtomSqlType}
+	 * @param columnIndexes {@link #columns()}のカラム位置 SELECT句に存在しない{@link io.github.tezch.atomsql.annotation.OptionalColumn}の場合、0
+	 * @return {@link io.github.tezch.atomsql.annotation.DataObject}
+	 * @throws SQLException 値の取得に失敗した場合
+	 */
+	Object map(ResultSet rs, AtomSqlType[] types, int[] columnIndexes) throws SQLException;
+}
@@ -59,4 +59,11 @@ public @interface Method {
 	 * @return {@link NonThreadSafe}に該当する型があればtrue
 	 */
 	boolean nonThreadSafe();
+
+	/**
+	 * アノテーションプロセッサで解析済みのSQL<br>
+	 * 存在しない場合、実行時にSQLを読み込み解析します。
+	 * @return 解析済みのSQLの部品
+	 */
+	SqlPart[] sql() default {};
 }
@@ -0,0 +1,28 @@
+package io.github.tezch.atomsql.annotation.processor;
+
+/**
+ * Atom SQL Processorが生成するパラメータ用クラスが実装するインターフェイスです。<br>
+ * {@link io.github.tezch.atomsql.AtomSql}がリフレクションを使用せずにパラメータを取り出すために使用します。<br>
+ * 生成されるクラスは、インスタンスを生成する{@link java.util.function.Supplier}を返すstaticメソッド{@value #FACTORY_METHOD_NAME}を持ちます。
+ * @author tezch
+ */
+public interface ParameterBinder {
+
+	/**
+	 * 生成されるクラスが持つ、インスタンスを生成する{@link java.util.function.Supplier}を返すstaticメソッドの名称
+	 */
+	String FACTORY_METHOD_NAME = "factory";
+
+	/**
+	 * パラメータ名
+	 * @return パラメータ名
+	 */
+	String[] names();
+
+	/**
+	 * パラメータの値<br>
+	 * {@link #names()}と同じ順序で返されます。
+	 * @return パラメータの値
+	 */
+	Object[] values();
+}
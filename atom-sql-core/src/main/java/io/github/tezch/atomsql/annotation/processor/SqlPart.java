@@ -0,0 +1,47 @@
+package io.github.tezch.atomsql.annotation.processor;
+
+/**
+ * アノテーションプロセッサで解析済みのSQLの部品
+ * @author tezch
+ */
+public @interface SqlPart {
+
+	/**
+	 * 部品の種類
+	 */
+	enum Type {
+
+		/**
+		 * テキスト
+		 */
+		TEXT,
+
+		/**
+		 * プレースホルダ
+		 */
+		PLACEHOLDER,
+
+		/**
+		 * /*${変数名}*&#47; 形式の{@link io.github.tezch.atomsql.Atom}用変数
+		 */
+		VARIABLE;
+	}
+
+	/**
+	 * 部品の種類
+	 * @return 部品の種類
+	 */
+	Type type();
+
+	/**
+	 * テキストの場合はテキスト、プレースホルダ、変数の場合はその名前
+	 * @return テキストまたは名前
+	 */
+	String value();
+
+	/**
+	 * プレースホルダ、変数の元の文字列全体
+	 * @return 元の文字列全体
+	 */
+	String original() default "";
+}
@@ -1,10 +1,7 @@
 package io.github.tezch.atomsql.internal;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
 
 /**
  * 内部使用クラスです。<br>
@@ -15,65 +12,57 @@ import java.util.regex.Pattern;
 @SuppressWarnings("javadoc")
 public class ColumnFinder {
 
-	private static final Pattern pattern = Pattern.compile(
-		//:placeholderを排除するため、あえて:を含める
-		//カラム名が""で囲まれていてもマッチさせる
-		"([^\\s[\\p{Punct}&&[^_:]]]+)(\"?)(/\\*([^\\\\*<]+)(?:<([^\\\\*>]+)>|)\\*/)",
-		Pattern.CASE_INSENSITIVE);
-
 	public static String execute(String sql, Consumer<Found> placeholderConsumer) {
-		//誤検出分保管
-		List<String> pseudoMatches = new LinkedList<>();
-		while (true) {
-			var matcher = pattern.matcher(sql);
-
-			if (!matcher.find())
-				break;
+		var length = sql.length();
+
+		var hint = new int[4];
+
+		//直前のカラムの終了位置 誤検出分はgapに含める
+		int gapStart = 0;
+		int i = 0;
+		while (i < length) {
+			//:placeholderを排除するため、あえて:を含めて語を切り出す
+			var start = i;
+			var wordEnd = SqlScanner.wordEnd(sql, start, SqlScanner.COLUMN_PUNCTUATIONS);
+			if (wordEnd == start) {
+				i++;
+				continue;
+			}
 
-			var gap = sql.substring(0, matcher.start());
+			//カラム名が""で囲まれていてもマッチさせる
+			var hintStart = wordEnd < length && sql.charAt(wordEnd) == '"' ? wordEnd + 1 : wordEnd;
 
-			var matched = matcher.group(1);
+			var hintEnd = SqlScanner.typeHintEnd(sql, hintStart, true, hint);
+			if (hintEnd == -1) {
+				i = wordEnd;
+				continue;
+			}
 
-			var matchedAll = matcher.group();
+			i = hintEnd;
 
-			sql = sql.substring(matcher.end());
+			var matched = sql.substring(start, wordEnd);
 
 			if (matched.contains(":") //:placeHolder形式のものを除外、もちろん途中に:があってもNG
-				|| !AtomSqlUtils.isSafeJavaIdentifier(matched)) {
-				pseudoMatches.add(gap);
-				pseudoMatches.add(matchedAll);
-				continue;
-			}
+				|| !AtomSqlUtils.isSafeJavaIdentifier(matched)) continue;
 
 			var found = new Found();
 
-			//溜まった誤検出分を追加
-			if (pseudoMatches.size() > 0) {
-				pseudoMatches.add(gap);
-				gap = String.join("", pseudoMatches);
-				pseudoMatches.clear();
-			}
-
-			found.gap = gap;
+			found.gap = sql.substring(gapStart, start);
 
 			found.column = matched;
 
-			found.doubleQuote = matcher.group(2);
+			found.doubleQuote = sql.substring(wordEnd, hintStart);
 
-			found.typeHint = matcher.group(4);
+			found.typeHint = sql.substring(hint[0], hint[1]);
 
-			found.typeArgumentHint = Optional.ofNullable(matcher.group(5));
+			found.typeArgumentHint = hint[2] == -1 ? Optional.empty() : Optional.of(sql.substring(hint[2], hint[3]));
 
 			placeholderConsumer.accept(found);
-		}
 
-		//溜まった誤検出分を追加
-		if (pseudoMatches.size() > 0) {
-			pseudoMatches.add(sql);
-			return String.join("", pseudoMatches);
+			gapStart = hintEnd;
 		}
 
-		return sql;
+		return sql.substring(gapStart);
 	}
 
 	public static class Found {
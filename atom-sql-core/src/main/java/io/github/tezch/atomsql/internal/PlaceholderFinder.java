@@ -1,10 +1,7 @@
 package io.github.tezch.atomsql.internal;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
 
 /**
  * 内部使用クラスです。<br>
@@ -15,60 +12,60 @@ import java.util.regex.Pattern;
 @SuppressWarnings("javadoc")
 public class PlaceholderFinder {
 
-	private static final Pattern pattern = Pattern.compile("(?<!:):([^\\s[\\p{Punct}&&[^_$]]]+)(?:/\\*([^\\*<]+)(?:<([^\\*>]+)>|)\\*/|)");
-
 	public static String execute(String sql, Consumer<Found> placeholderConsumer) {
-		//誤検出分保管
-		List<String> pseudoMatches = new LinkedList<>();
-		while (true) {
-			var matcher = pattern.matcher(sql);
-
-			if (!matcher.find())
-				break;
-
-			var gap = sql.substring(0, matcher.start());
+		var length = sql.length();
 
-			var matched = matcher.group(1);
+		var hint = new int[4];
 
-			var matchedAll = matcher.group();
+		//直前のプレースホルダの終了位置 誤検出分はgapに含める
+		int gapStart = 0;
+		int i = 0;
+		while (i < length) {
+			var start = sql.indexOf(':', i);
+			if (start == -1) break;
 
-			sql = sql.substring(matcher.end());
+			//::（PostgreSQLのキャスト等）の2つ目の:は対象外
+			if (start > 0 && sql.charAt(start - 1) == ':') {
+				i = start + 1;
+				continue;
+			}
 
-			if (!AtomSqlUtils.isSafeJavaIdentifier(matched)) {
-				pseudoMatches.add(gap);
-				pseudoMatches.add(matchedAll);
+			var nameStart = start + 1;
+			var nameEnd = SqlScanner.wordEnd(sql, nameStart, SqlScanner.IDENTIFIER_PUNCTUATIONS);
+			if (nameEnd == nameStart) {
+				i = start + 1;
 				continue;
 			}
 
-			var found = new Found();
+			var hintEnd = SqlScanner.typeHintEnd(sql, nameEnd, false, hint);
+			var end = hintEnd == -1 ? nameEnd : hintEnd;
 
-			//溜まった誤検出分を追加
-			if (pseudoMatches.size() > 0) {
-				pseudoMatches.add(gap);
-				gap = String.join("", pseudoMatches);
-				pseudoMatches.clear();
-			}
+			i = end;
+
+			var matched = sql.substring(nameStart, nameEnd);
+
+			if (!AtomSqlUtils.isSafeJavaIdentifier(matched)) continue;
 
-			found.gap = gap;
+			var found = new Found();
+
+			found.gap = sql.substring(gapStart, start);
 
-			found.all = matchedAll;
+			found.all = sql.substring(start, end);
 
 			found.placeholder = matched;
 
-			found.typeHint = Optional.ofNullable(matcher.group(2));
+			found.typeHint = hintEnd == -1 ? Optional.empty() : Optional.of(sql.substring(hint[0], hint[1]));
 
-			found.typeArgumentHint = Optional.ofNullable(matcher.group(3));
+			found.typeArgumentHint = hintEnd == -1 || hint[2] == -1
+				? Optional.empty()
+				: Optional.of(sql.substring(hint[2], hint[3]));
 
 			placeholderConsumer.accept(found);
-		}
 
-		//溜まった誤検出分を追加
-		if (pseudoMatches.size() > 0) {
-			pseudoMatches.add(sql);
-			return String.join("", pseudoMatches);
+			gapStart = end;
 		}
 
-		return sql;
+		return sql.substring(gapStart);
 	}
 
 	public static class Found {
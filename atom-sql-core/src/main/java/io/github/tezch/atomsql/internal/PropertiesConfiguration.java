@@ -8,6 +8,8 @@ import java.util.Properties;
 import io.github.tezch.atomsql.AtomSql;
 import io.github.tezch.atomsql.AtomSqlTypeFactory;
 import io.github.tezch.atomsql.Configuration;
+import io.github.tezch.atomsql.Csv;
+import io.github.tezch.atomsql.JdbcSqlService;
 import io.github.tezch.atomsql.annotation.NoSqlLog;
 import io.github.tezch.atomsql.annotation.Qualifier;
 
@@ -68,6 +70,27 @@ public class PropertiesConfiguration implements Configuration {
 	 */
 	private final int cacheCapacity;
 
+	/**
+	 * uses-csv-padding<br>
+	 * {@link Csv}の値の数を2のべき乗（最大1024）まで最後の値で埋めて、SQLの種類を減らすかどうか<br>
+	 * 使用する場合、true
+	 */
+	private final boolean usesCsvPadding;
+
+	/**
+	 * statement-cache-capacity<br>
+	 * {@link JdbcSqlService}がConnectionごとにキャッシュするPreparedStatementの最大値<br>
+	 * この値が0以下の場合、キャッシュは行わない
+	 */
+	private final int statementCacheCapacity;
+
+	/**
+	 * adaptive-fetch-size<br>
+	 * フェッチサイズが指定されていない検索で、メソッドごとの過去の検索結果件数からフェッチサイズを決定するかどうか<br>
+	 * 使用する場合、true
+	 */
+	private final boolean adaptiveFetchSize;
+
 	/**
 	 * クラスパスのルートにあるatom-sql.propertiesから設定を読み込みインスタンスを作成します。
 	 */
@@ -95,6 +118,12 @@ public class PropertiesConfiguration implements Configuration {
 
 		cacheCapacity = Integer.parseInt(
 			Optional.ofNullable(config.getProperty("cache-capacity")).orElse(AtomSql.DEFAULT_CACHE_SIZE));
+
+		usesCsvPadding = Boolean.valueOf(config.getProperty("uses-csv-padding", "false"));
+
+		statementCacheCapacity = Integer.parseInt(config.getProperty("statement-cache-capacity", "0"));
+
+		adaptiveFetchSize = Boolean.valueOf(config.getProperty("adaptive-fetch-size", "false"));
 	}
 
 	@Override
@@ -131,4 +160,19 @@ public class PropertiesConfiguration implements Configuration {
 	public int cacheCapacity() {
 		return cacheCapacity;
 	}
+
+	@Override
+	public boolean usesCsvPadding() {
+		return usesCsvPadding;
+	}
+
+	@Override
+	public int statementCacheCapacity() {
+		return statementCacheCapacity;
+	}
+
+	@Override
+	public boolean adaptiveFetchSize() {
+		return adaptiveFetchSize;
+	}
 }
@@ -4,8 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import io.github.tezch.atomsql.AtomSql;
 
@@ -17,54 +15,111 @@ public class SqlMasker {
 
 	private static final String boundary = "[" + AtomSql.class.getSimpleName() + "#" + UUID.randomUUID() + "]";
 
-	private static final Pattern tagPattern;
-
-	static {
-		var escapedBoundary = Pattern.quote(boundary);
-		tagPattern = Pattern.compile(escapedBoundary + "(\\d+)" + escapedBoundary);
-	}
-
-	private static final Pattern pattern = Pattern.compile(
-		/*
-		 * <string> 文字列 複数行にまたがりマッチ
-		 * <id> 識別子 複数行にまたがりマッチ
-		 * <comment> コメント 行末までマッチ .はPattern.DOTALLを使用しなければ改行コードにはヒットしないので行末までという意味になる
-		 */
-		"(?<string>'(''|[^'])*')|(?<id>\"(\"\"|[^\"])*\")|(?<comment>--.*|//.*)");
-
 	private final List<String> stash = new ArrayList<>();
 
 	/**
-	 * SQLからリテラルやコメントを隠します。
+	 * SQLからリテラルやコメントを隠します。<br>
+	 * 隠す対象は以下のとおりです。
+	 * <ul>
+	 * <li>文字列 '...' 複数行にまたがる</li>
+	 * <li>識別子 "..." 複数行にまたがる Javaの識別子として使用可能なもの（自動生成DataObjectカラム候補）は除く</li>
+	 * <li>コメント --、// から行末まで</li>
+	 * </ul>
 	 * @param sql SQL
 	 * @return マスクされたSQL
 	 */
 	public String mask(String sql) {
 		Objects.requireNonNull(sql);
 
-		var masked = new StringBuilder();
+		StringBuilder masked = null;
 
-		var matcher = pattern.matcher(sql);
-		while (matcher.find()) {
-			var found = matcher.group();
+		var length = sql.length();
 
-			String replacement;
+		int copied = 0;
+		int i = 0;
+		while (i < length) {
+			var c = sql.charAt(i);
 
-			if (matcher.group("id") != null && isJavaIdentifier(found)) {
-				//idとしてヒットしたがJava識別子の場合(自動生成DataObjectカラム候補)はマスクスキップ
-				replacement = found;
+			int end;
+			boolean isId = false;
+			if (c == '\'' || c == '"') {
+				end = quotedEnd(sql, i, c);
+				isId = c == '"';
+			} else if ((c == '-' || c == '/') && i + 1 < length && sql.charAt(i + 1) == c) {
+				end = lineEnd(sql, i + 2);
 			} else {
-				stash.add(matcher.group());
+				end = -1;
+			}
+
+			if (end == -1) {
+				i++;
+				continue;
+			}
+
+			var found = sql.substring(i, end);
+
+			//idとしてヒットしたがJava識別子の場合(自動生成DataObjectカラム候補)はマスクスキップ
+			if (!isId || !isJavaIdentifier(found)) {
+				if (masked == null) masked = new StringBuilder(length);
+
+				masked.append(sql, copied, i);
+
+				stash.add(found);
 				// 復元用のタグを生成 stashの現在のインデックスを使用
-				replacement = boundary + (stash.size() - 1) + boundary;
+				masked.append(boundary).append(stash.size() - 1).append(boundary);
+
+				copied = end;
+			}
+
+			i = end;
+		}
+
+		if (masked == null) return sql;
+
+		return masked.append(sql, copied, length).toString();
+	}
+
+	/**
+	 * quoteで囲まれた部分の終了位置を返す 囲みの中ではquoteを二つ重ねることでエスケープとする<br>
+	 * 閉じられていない場合、最後のエスケープの一つ目を閉じとみなす それもない場合は-1
+	 */
+	private static int quotedEnd(String sql, int start, char quote) {
+		var length = sql.length();
+
+		int lastEscape = -1;
+		int i = start + 1;
+		while (i < length) {
+			if (sql.charAt(i) != quote) {
+				i++;
+				continue;
 			}
 
-			matcher.appendReplacement(masked, Matcher.quoteReplacement(replacement));
+			if (i + 1 < length && sql.charAt(i + 1) == quote) {
+				lastEscape = i;
+				i += 2;
+				continue;
+			}
+
+			return i + 1;
 		}
 
-		matcher.appendTail(masked);
+		return lastEscape == -1 ? -1 : lastEscape + 1;
+	}
+
+	/**
+	 * 行末（改行文字の直前）の位置を返す
+	 */
+	private static int lineEnd(String sql, int start) {
+		var length = sql.length();
+		for (int i = start; i < length; i++) {
+			switch (sql.charAt(i)) {
+			case '\n', '\r', '\u0085', '\u2028', '\u2029':
+				return i;
+			default:
+			}
+		}
 
-		return masked.toString();
+		return length;
 	}
 
 	/**
@@ -75,20 +130,44 @@ public class SqlMasker {
 	public String unmask(String maskedSql) {
 		Objects.requireNonNull(maskedSql);
 
-		var unmasked = new StringBuilder();
+		StringBuilder unmasked = null;
 
-		var matcher = tagPattern.matcher(maskedSql);
+		var boundaryLength = boundary.length();
 
-		while (matcher.find()) {
-			int index = Integer.parseInt(matcher.group(1));
+		int copied = 0;
+		int i = 0;
+		while (true) {
+			var start = maskedSql.indexOf(boundary, i);
+			if (start == -1) break;
 
-			// stashから元の文字列を取得して戻す（quoteReplacementで特殊文字を保護）
-			matcher.appendReplacement(unmasked, Matcher.quoteReplacement(stash.get(index)));
+			var digitsStart = start + boundaryLength;
+			var digitsEnd = digitsStart;
+			while (digitsEnd < maskedSql.length() && isDigit(maskedSql.charAt(digitsEnd))) {
+				digitsEnd++;
+			}
+
+			if (digitsEnd == digitsStart || !maskedSql.startsWith(boundary, digitsEnd)) {
+				i = start + 1;
+				continue;
+			}
+
+			if (unmasked == null) unmasked = new StringBuilder(maskedSql.length());
+
+			int index = Integer.parseInt(maskedSql, digitsStart, digitsEnd, 10);
+
+			// stashから元の文字列を取得して戻す
+			unmasked.append(maskedSql, copied, start).append(stash.get(index));
+
+			copied = i = digitsEnd + boundaryLength;
 		}
 
-		matcher.appendTail(unmasked);
+		if (unmasked == null) return maskedSql;
+
+		return unmasked.append(maskedSql, copied, maskedSql.length()).toString();
+	}
 
-		return unmasked.toString();
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
 	}
 
 	private static boolean isJavaIdentifier(String s) {
@@ -0,0 +1,93 @@
+package io.github.tezch.atomsql.internal;
+
+/**
+ * 内部使用クラスです。<br>
+ * SQL文を、テキスト、プレースホルダ、{@link io.github.tezch.atomsql.Atom}用変数の部品に分割します。<br>
+ * 実行時とアノテーションプロセッサ処理時で同じ結果となるように、分割処理はこのクラスに集約します。
+ * @author tezch
+ */
+@SuppressWarnings("javadoc")
+public class SqlPartFinder {
+
+	/**
+	 * 分割された部品の受け取り先
+	 */
+	public static interface PartConsumer {
+
+		/**
+		 * テキスト
+		 * @param text テキスト
+		 */
+		void text(String text);
+
+		/**
+		 * プレースホルダ
+		 * @param name プレースホルダ名
+		 * @param original 元のプレースホルダ文字列全体（型ヒントを含む）
+		 */
+		void placeholder(String name, String original);
+
+		/**
+		 * /*${変数名}*&#47; 形式の{@link io.github.tezch.atomsql.Atom}用変数
+		 * @param name 変数名
+		 * @param original 元の変数文字列全体
+		 */
+		void variable(String name, String original);
+	}
+
+	public static void execute(String sql, PartConsumer consumer) {
+		var masker = new SqlMasker();
+
+		var maskedSql = normalize(masker.mask(sql));
+
+		var sqlRemain = PlaceholderFinder.execute(maskedSql, f -> {
+			texts(f.gap, masker, consumer);
+
+			consumer.placeholder(f.placeholder, f.all);
+		});
+
+		texts(sqlRemain, masker, consumer);
+	}
+
+	/**
+	 * SQLからカラムの型ヒントを除去
+	 * @param maskedSql 元のSQL({@link SqlMasker}でマスク済みであること)
+	 */
+	private static String normalize(String maskedSql) {
+		var builder = new StringBuilder(maskedSql.length());
+		var remain = ColumnFinder.execute(maskedSql, f -> {
+			builder.append(f.gap).append(f.column).append(f.doubleQuote);
+		});
+
+		return builder.append(remain).toString();
+	}
+
+	/**
+	 * マスク済みのSQL断片を{@link io.github.tezch.atomsql.Atom}用変数で分割し、テキストと変数として渡す<br>
+	 * リテラルやコメントはマスクされているので、その中の変数は対象外となる
+	 */
+	private static void texts(String maskedText, SqlMasker masker, PartConsumer consumer) {
+		var name = new int[2];
+
+		int copied = 0;
+		int i = 0;
+		while (true) {
+			var start = maskedText.indexOf("/*${", i);
+			if (start == -1) break;
+
+			var end = SqlScanner.variableEnd(maskedText, start, name);
+			if (end == -1) {
+				i = start + 1;
+				continue;
+			}
+
+			if (start > copied) consumer.text(masker.unmask(maskedText.substring(copied, start)));
+
+			consumer.variable(maskedText.substring(name[0], name[1]), maskedText.substring(start, end));
+
+			copied = i = end;
+		}
+
+		consumer.text(masker.unmask(maskedText.substring(copied)));
+	}
+}
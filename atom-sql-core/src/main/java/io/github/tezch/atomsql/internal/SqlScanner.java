@@ -0,0 +1,162 @@
+package io.github.tezch.atomsql.internal;
+
+import java.util.function.Consumer;
+
+/**
+ * 内部使用クラスです。<br>
+ * SQL文を先頭から一度だけ走査するための、文字判定と部分解析の処理を提供します。<br>
+ * 正規表現を使用せず、走査位置を進めながら解析するため、SQLが長くても解析時間は長さに比例します。
+ * @author tezch
+ */
+@SuppressWarnings("javadoc")
+public class SqlScanner {
+
+	/**
+	 * プレースホルダ名、{@link io.github.tezch.atomsql.Atom}用変数名に使用可能な記号
+	 */
+	public static final String IDENTIFIER_PUNCTUATIONS = "_$";
+
+	/**
+	 * カラム名に使用可能な記号<br>
+	 * :placeholderを排除するため、あえて:を含める
+	 */
+	public static final String COLUMN_PUNCTUATIONS = "_:";
+
+	private SqlScanner() {}
+
+	/**
+	 * 正規表現の\sに相当
+	 */
+	public static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * 正規表現の\p{Punct}に相当
+	 */
+	public static boolean isPunctuation(char c) {
+		return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+	}
+
+	/**
+	 * 空白でも、allowedPunctuationsに含まれない記号でもない文字が続く位置の終わりを返します。
+	 * @param sql SQL
+	 * @param start 開始位置
+	 * @param allowedPunctuations 使用可能な記号
+	 * @return 終了位置 文字が一つもない場合はstart
+	 */
+	public static int wordEnd(String sql, int start, String allowedPunctuations) {
+		var length = sql.length();
+		var i = start;
+		while (i < length) {
+			var c = sql.charAt(i);
+			if (isWhitespace(c) || (isPunctuation(c) && allowedPunctuations.indexOf(c) == -1)) break;
+			i++;
+		}
+
+		return i;
+	}
+
+	/**
+	 * /*型ヒント&lt;型引数ヒント&gt;*&#47; 形式の型ヒントを解析します。<br>
+	 * 型ヒントが存在する場合、hintには型ヒントの開始位置と終了位置、型引数ヒントの開始位置と終了位置（存在しない場合は-1）が格納されます。
+	 * @param sql SQL
+	 * @param start 開始位置
+	 * @param excludesBackslash 型ヒントに\を含めない場合、true
+	 * @param hint 解析結果格納用 長さ4
+	 * @return 型ヒントの終了位置 型ヒントではない場合、-1
+	 */
+	public static int typeHintEnd(String sql, int start, boolean excludesBackslash, int[] hint) {
+		if (!sql.startsWith("/*", start)) return -1;
+
+		var hintStart = start + 2;
+		var hintEnd = hintEnd(sql, hintStart, '<', excludesBackslash);
+		if (hintEnd == hintStart) return -1;
+
+		var length = sql.length();
+
+		int argumentStart = -1;
+		int argumentEnd = -1;
+
+		var i = hintEnd;
+		if (i < length && sql.charAt(i) == '<') {
+			argumentStart = i + 1;
+			argumentEnd = hintEnd(sql, argumentStart, '>', excludesBackslash);
+
+			if (argumentEnd == argumentStart || argumentEnd >= length || sql.charAt(argumentEnd) != '>') return -1;
+
+			i = argumentEnd + 1;
+		}
+
+		if (!sql.startsWith("*/", i)) return -1;
+
+		hint[0] = hintStart;
+		hint[1] = hintEnd;
+		hint[2] = argumentStart;
+		hint[3] = argumentEnd;
+
+		return i + 2;
+	}
+
+	private static int hintEnd(String sql, int start, char terminator, boolean excludesBackslash) {
+		var length = sql.length();
+		var i = start;
+		while (i < length) {
+			var c = sql.charAt(i);
+			if (c == '*' || c == terminator || (excludesBackslash && c == '\\')) break;
+			i++;
+		}
+
+		return i;
+	}
+
+	/**
+	 * startの位置から始まる /*${変数名}*&#47; 形式の{@link io.github.tezch.atomsql.Atom}用変数の終了位置を返します。<br>
+	 * 変数名が存在する場合、nameには変数名の開始位置と終了位置が格納されます。
+	 * @param sql SQL
+	 * @param start 開始位置
+	 * @param name 解析結果格納用 長さ2
+	 * @return 変数の終了位置 変数ではない場合、-1
+	 */
+	public static int variableEnd(String sql, int start, int[] name) {
+		if (!sql.startsWith("/*${", start)) return -1;
+
+		var nameStart = start + 4;
+		var nameEnd = wordEnd(sql, nameStart, IDENTIFIER_PUNCTUATIONS);
+
+		if (nameEnd == nameStart || !sql.startsWith("}*/", nameEnd)) return -1;
+
+		name[0] = nameStart;
+		name[1] = nameEnd;
+
+		return nameEnd + 3;
+	}
+
+	/**
+	 * ${変数名} 形式の{@link io.github.tezch.atomsql.Atom}用変数を探し、見つかったものを順に渡します。<br>
+	 * 変数名がJavaの識別子として使用できないものは除外されます。
+	 * @param sql SQL
+	 * @param variableConsumer 変数名の受け取り先
+	 */
+	public static void findVariables(String sql, Consumer<String> variableConsumer) {
+		var length = sql.length();
+		var i = 0;
+		while (true) {
+			var start = sql.indexOf("${", i);
+			if (start == -1) return;
+
+			var nameStart = start + 2;
+			var nameEnd = wordEnd(sql, nameStart, IDENTIFIER_PUNCTUATIONS);
+
+			if (nameEnd == nameStart || nameEnd >= length || sql.charAt(nameEnd) != '}') {
+				i = start + 1;
+				continue;
+			}
+
+			i = nameEnd + 1;
+
+			var name = sql.substring(nameStart, nameEnd);
+			if (AtomSqlUtils.isSafeJavaIdentifier(name)) variableConsumer.accept(name);
+		}
+	}
+}
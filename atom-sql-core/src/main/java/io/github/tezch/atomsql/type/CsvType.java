@@ -5,15 +5,18 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.function.Supplier;
 
+import io.github.tezch.atomsql.AtomSql;
 import io.github.tezch.atomsql.AtomSqlType;
 import io.github.tezch.atomsql.AtomSqlTypeFactory;
+import io.github.tezch.atomsql.Configuration;
 import io.github.tezch.atomsql.Csv;
 import io.github.tezch.atomsql.DefaultAtomSqlType;
 import io.github.tezch.atomsql.annotation.DataObject;
 
 /**
  * Comma Separated Values<br>
- * {@link DataObject}では使用できません。
+ * {@link DataObject}では使用できません。<br>
+ * {@link Configuration#usesCsvPadding()}がtrueの場合、値の数を2のべき乗（最大1024）まで最後の値で埋めてバインドします。
  * @see Csv
  */
 public class CsvType implements AtomSqlType {
@@ -40,6 +43,10 @@ public class CsvType implements AtomSqlType {
 		var values = ((Csv<?>) value).values();
 
 		var size = values.size();
+
+		//同じ型の値が続くことがほとんどなので、直前の型を再利用する
+		Class<?> lastClass = null;
+		AtomSqlType lastType = null;
 		for (int i = 0; i < size; i++) {
 			var v = values.get(i);
 
@@ -47,19 +54,70 @@ public class CsvType implements AtomSqlType {
 			if (v == null) {
 				type = DefaultAtomSqlType.NULL;
 			} else {
-				type = typeFactory.select(v.getClass());
+				var clazz = v.getClass();
+				if (!clazz.equals(lastClass)) {
+					lastClass = clazz;
+					lastType = typeFactory.select(clazz);
+				}
+
+				type = lastType;
 			}
 
 			type.bind(index + i, statement, v);
 		}
 
-		return index + size;
+		var paddedSize = paddedSize(size);
+		if (paddedSize == size) return index + size;
+
+		//最後の値で埋める
+		var last = values.get(size - 1);
+		var lastValueType = last == null ? DefaultAtomSqlType.NULL : typeFactory.select(last.getClass());
+		for (int i = size; i < paddedSize; i++) {
+			lastValueType.bind(index + i, statement, last);
+		}
+
+		return index + paddedSize;
 	}
 
 	@Override
 	public String placeholderExpression(Object value) {
-		var values = ((Csv<?>) value).values();
-		return String.join(", ", values.stream().map(v -> "?").toList());
+		var size = paddedSize(((Csv<?>) value).values().size());
+
+		if (size > MAX_PADDED_SIZE) return expression(size);
+
+		var expression = expressions[size];
+		if (expression == null) {
+			//同時に作成されても内容は同じなので排他は行わない
+			expression = expression(size);
+			expressions[size] = expression;
+		}
+
+		return expression;
+	}
+
+	private static final int MAX_PADDED_SIZE = 1024;
+
+	//値の数ごとのプレースホルダ表現
+	private static final String[] expressions = new String[MAX_PADDED_SIZE + 1];
+
+	private static String expression(int size) {
+		var builder = new StringBuilder(size * 3);
+		for (int i = 0; i < size; i++) {
+			if (i > 0) builder.append(", ");
+			builder.append('?');
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * 設定で{@link Csv}の値を埋めるとされている場合、値の数以上の2のべき乗（最大1024）を返す<br>
+	 * 1024を超える場合と、埋めない設定の場合は値の数をそのまま返す
+	 */
+	private static int paddedSize(int size) {
+		if (size > MAX_PADDED_SIZE || !AtomSql.configuration().usesCsvPadding()) return size;
+
+		return Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
 	}
 
 	@Override
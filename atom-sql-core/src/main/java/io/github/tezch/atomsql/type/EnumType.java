@@ -19,11 +19,21 @@ import io.github.tezch.atomsql.internal.AtomSqlUtils;
  */
 public class EnumType implements AtomSqlType {
 
+	//値の範囲がEnumの数に対してこれ以下の倍率であれば、配列で変換する
+	private static final int maxDensityRatio = 4;
+
 	private final Class<? extends Enum<?>> enumClass;
 
-	private final Map<Integer, Enum<?>> enumMap = new HashMap<>();
+	//値の範囲が狭い場合、値 - minValueの位置にEnumを格納した配列
+	private final Enum<?>[] enumArray;
+
+	private final int minValue;
+
+	//値の範囲が広い場合の、値とEnumの対応
+	private final Map<Integer, Enum<?>> enumMap;
 
-	private final Map<Enum<?>, Integer> valueMap = new HashMap<>();
+	//ordinalの位置に値を格納した配列
+	private final int[] values;
 
 	/**
 	 * コンストラクタ
@@ -36,13 +46,39 @@ public class EnumType implements AtomSqlType {
 
 		var fields = enumClass.getFields();
 
+		values = new int[enums.length];
+
+		var min = Integer.MAX_VALUE;
+		var max = Integer.MIN_VALUE;
 		for (var e : enums) {
 			var ordinal = e.ordinal();
 			var enumValue = fields[ordinal].getAnnotation(EnumValue.class);
 			var value = enumValue == null ? ordinal : enumValue.value();
 
-			enumMap.put(value, e);
-			valueMap.put(e, value);
+			values[ordinal] = value;
+
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+
+		//longで計算しないと、値の範囲が広い場合に桁あふれする
+		var range = (long) max - min + 1;
+		if (enums.length > 0 && range <= (long) enums.length * maxDensityRatio) {
+			enumArray = new Enum<?>[(int) range];
+			minValue = min;
+			enumMap = null;
+
+			for (var e : enums) {
+				enumArray[values[e.ordinal()] - min] = e;
+			}
+		} else {
+			enumArray = null;
+			minValue = 0;
+			enumMap = new HashMap<>();
+
+			for (var e : enums) {
+				enumMap.put(values[e.ordinal()], e);
+			}
 		}
 	}
 
@@ -55,7 +91,7 @@ public class EnumType implements AtomSqlType {
 	public int bind(int index, PreparedStatement statement, Object value) {
 		if (value == null) return AtomSqlUtils.bindAsNull(index, statement, Types.INTEGER);
 
-		var val = Objects.requireNonNull(valueMap.get(value));
+		var val = values[((Enum<?>) enumClass.cast(value)).ordinal()];
 		try {
 			statement.setInt(index, val);
 			return index + 1;
@@ -77,13 +113,18 @@ public class EnumType implements AtomSqlType {
 	private Object getInternal(ResultSet rs, int value) throws SQLException {
 		if (rs.wasNull()) return null;
 
-		var e = enumMap.get(value);
+		var e = enumArray == null ? enumMap.get(value) : enumOf(value);
 
 		if (e == null) throw new EnumNotFoundException(enumClass, value);
 
 		return e;
 	}
 
+	private Enum<?> enumOf(int value) {
+		var index = (long) value - minValue;
+		return index >= 0 && index < enumArray.length ? enumArray[(int) index] : null;
+	}
+
 	@Override
 	public AtomSqlType toTypeArgument() {
 		return this;
@@ -0,0 +1,17 @@
+/*--*//*@formatter:off*//*--*//*++[[PACKAGE]]++*//*--*/package io.github.tezch.atomsql.processor;/*--*/
+
+import javax.annotation.processing.Generated;
+
+// This class was generated by Atom SQL. Do not modify this file manually.
+@Generated("[[GENERATED]]")
+@SuppressWarnings("javadoc")
+public class /*--*/AtomSqlImpl_Template/*--*//*++[[CLASS]]++*/ /*++implements [[INTERFACE]]++*/ {
+
+	private final io.github.tezch.atomsql.AtomSql atomSql;
+
+	public /*--*/AtomSqlImpl_Template/*--*//*++[[CLASS]]++*/(io.github.tezch.atomsql.AtomSql atomSql) {
+		this.atomSql = atomSql;
+	}
+
+/*++[[METHODS]]++*/
+}
@@ -4,6 +4,7 @@ import javax.annotation.processing.Generated;
 
 /*--*/import io.github.tezch.atomsql.annotation.processor.Method;/*--*//*++[[IMPORT_METHOD_CLASS]]++*/
 import io.github.tezch.atomsql.annotation.processor.Methods;
+/*++[[IMPORT_SQL_PART_CLASS]]++*/
 
 // This class was generated by Atom SQL. Do not modify this file manually.
 @Generated("[[GENERATED]]")
@@ -71,7 +71,15 @@ class DataObjectBuilder extends SourceBuilder {
 		return new ExtractResult(true, element);
 	}
 
-	private static record Column(String typeExpression, String column) {}
+	/**
+	 * @param optionalTypeExpression {@link Optional}の場合、その型引数 それ以外はnull
+	 */
+	private static record Column(String typeExpression, String optionalTypeExpression, String column) {
+
+		private String classExpression() {
+			return (optionalTypeExpression == null ? typeExpression : optionalTypeExpression) + ".class";
+		}
+	}
 
 	private void columns(String sql, List<Column> columns, List<String> enumValidators, ExecutableElement method) {
 		var dubplicateChecker = new HashSet<String>();
@@ -86,6 +94,7 @@ class DataObjectBuilder extends SourceBuilder {
 			var typeFactory = ProcessorTypeFactory.instance;
 
 			String typeExpression;
+			String optionalTypeExpression = null;
 
 			if (!"OPT".equals(f.typeHint)) {
 				if (f.typeArgumentHint.isPresent()) {
@@ -101,11 +110,12 @@ class DataObjectBuilder extends SourceBuilder {
 
 				ProcessorUtils.enumValidator(type, column).ifPresent(enumValidators::add);
 			} else {
-				typeExpression = Optional.class.getName()
-					+ f.typeArgumentHint
-						.map(typeFactory::typeArgumentOf)
-						.map(t -> "<" + t.typeArgumentExpression() + ">")
-						.get();
+				optionalTypeExpression = f.typeArgumentHint
+					.map(typeFactory::typeArgumentOf)
+					.map(t -> t.typeArgumentExpression())
+					.get();
+
+				typeExpression = Optional.class.getName() + "<" + optionalTypeExpression + ">";
 
 				ProcessorUtils.enumValidator(
 					f.typeArgumentHint
@@ -114,7 +124,7 @@ class DataObjectBuilder extends SourceBuilder {
 					column).ifPresent(enumValidators::add);
 			}
 
-			columns.add(new Column(typeExpression, column));
+			columns.add(new Column(typeExpression, optionalTypeExpression, column));
 		});
 	}
 
@@ -199,6 +209,24 @@ class DataObjectBuilder extends SourceBuilder {
 				AtomSql.NEW_LINE,
 				columns.stream().map(c -> String.format("%s = bean.%s;", c.column, c.column)).toList()));
 
+		//Beanを経由せず、検索結果から直接フィールドに値を設定する
+		var resultSetToColumns = new LinkedList<String>();
+		for (int i = 0; i < columns.size(); i++) {
+			var column = columns.get(i);
+			resultSetToColumns.add(
+				String.format(
+					"this.%s = %s;",
+					column.column,
+					DataObjectMapperBuilder.valueExpression(i, column.typeExpression, column.optionalTypeExpression, false)));
+		}
+
+		param.put("RESULT_SET_TO_COLUMNS", String.join(AtomSql.NEW_LINE, resultSetToColumns));
+
+		param.put("MAPPER_CLASS", AtomSql.DATA_OBJECT_MAPPER_CLASS_SUFFIX.substring(1));
+
+		param.put("COLUMN_NAMES", String.join(", ", columns.stream().map(c -> "\"" + c.column + "\"").toList()));
+		param.put("TYPES", String.join(", ", columns.stream().map(Column::classExpression).toList()));
+
 		param.put("ENUM_VALIDATORS", String.join(AtomSql.NEW_LINE, enumValidators));
 
 		return Formatter.format(template, param);
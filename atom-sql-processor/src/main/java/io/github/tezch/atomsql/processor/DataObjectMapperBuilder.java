@@ -0,0 +1,259 @@
+package io.github.tezch.atomsql.processor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import io.github.tezch.atomsql.AtomSql;
+import io.github.tezch.atomsql.annotation.OptionalColumn;
+import io.github.tezch.atomsql.annotation.processor.TooManyColumnsDataObject;
+
+/**
+ * {@link io.github.tezch.atomsql.annotation.processor.DataObjectMapper}の実装クラスを生成します。<br>
+ * 生成されたクラスから参照できない等、生成できない形のクラスの場合は何もせず、実行時にはリフレクションが使用されます。
+ * @author tezch
+ */
+class DataObjectMapperBuilder {
+
+	private static final String NEW_LINE = AtomSql.NEW_LINE;
+
+	// 二重作成防止チェッカー
+	private final Set<String> alreadyCreatedFiles = new HashSet<>();
+
+	private final Supplier<ProcessingEnvironment> envSupplier;
+
+	private final TypeNameExtractor typeNameExtractor;
+
+	DataObjectMapperBuilder(Supplier<ProcessingEnvironment> envSupplier, TypeNameExtractor typeNameExtractor) {
+		this.envSupplier = envSupplier;
+		this.typeNameExtractor = typeNameExtractor;
+	}
+
+	private static record Column(String name, String typeName, TypeElement optionalType, boolean optionalColumn) {
+
+		private String classExpression() {
+			return (optionalType == null ? typeName : optionalType.getQualifiedName().toString()) + ".class";
+		}
+
+		private String valueExpression(int index) {
+			return DataObjectMapperBuilder.valueExpression(
+				index,
+				typeName,
+				optionalType == null ? null : optionalType.getQualifiedName().toString(),
+				optionalColumn);
+		}
+	}
+
+	/**
+	 * 生成する変換クラス内で、rs、types、columnIndexesから値を取得する式
+	 * @param index 対象の位置
+	 * @param typeName 値の型
+	 * @param optionalTypeName {@link java.util.Optional}の場合、その型引数 それ以外はnull
+	 * @param optionalColumn {@link OptionalColumn}が付与されている場合、true
+	 */
+	static String valueExpression(int index, String typeName, String optionalTypeName, boolean optionalColumn) {
+		//ボクシングを避けるため、プリミティブ型専用のメソッドで取得する
+		var primitiveGet = primitiveGet(typeName);
+		if (primitiveGet != null && !optionalColumn) return "types[" + index + "]." + primitiveGet + "(rs, columnIndexes[" + index + "])";
+
+		var get = "types[" + index + "].get(rs, columnIndexes[" + index + "])";
+
+		//SELECT句にカラムがない場合、値はnull
+		if (optionalColumn) get = "(columnIndexes[" + index + "] == 0 ? null : " + get + ")";
+
+		if (optionalTypeName == null) return "(" + typeName + ") " + get;
+
+		return "java.util.Optional.ofNullable((" + optionalTypeName + ") " + get + ")";
+	}
+
+	private static String primitiveGet(String typeName) {
+		return switch (typeName) {
+		case "int" -> "getInt";
+		case "long" -> "getLong";
+		case "double" -> "getDouble";
+		case "boolean" -> "getBoolean";
+		default -> null;
+		};
+	}
+
+	/**
+	 * {@link java.sql.ResultSet}を受け取るコンストラクタを使用するクラス
+	 */
+	void buildForResultSetConstructor(TypeElement type, ExecutableElement constructor) {
+		if (!accessible(type) || !accessible(constructor)) return;
+
+		build(type, List.of(), "\t\treturn new " + type.getQualifiedName() + "(rs);");
+	}
+
+	/**
+	 * コンストラクタの引数に値を渡すレコード
+	 */
+	void buildForRecord(TypeElement type, ExecutableElement constructor, Map<Name, TypeElement> optionals) {
+		if (!accessible(type) || !accessible(constructor)) return;
+
+		var columns = new LinkedList<Column>();
+		for (var parameter : constructor.getParameters()) {
+			columns.add(column(parameter, optionals));
+		}
+
+		var arguments = new LinkedList<String>();
+		for (int i = 0; i < columns.size(); i++) {
+			arguments.add("\t\t\t" + columns.get(i).valueExpression(i));
+		}
+
+		var map = "\t\treturn new " + type.getQualifiedName() + "(" + NEW_LINE
+			+ String.join("," + NEW_LINE, arguments) + ");";
+
+		build(type, columns, map);
+	}
+
+	/**
+	 * 引数なしのコンストラクタで作成し、publicフィールドに値を設定するクラス
+	 */
+	void buildForClass(TypeElement type, Map<Name, TypeElement> optionals) {
+		if (!accessible(type)) return;
+
+		//一括変換用のクラスは対象外
+		if (type.getAnnotation(TooManyColumnsDataObject.class) != null) return;
+
+		//継承したフィールドは対象外とするため、スーパークラスを持つ場合は生成しない
+		if (!ProcessorUtils.sameClass(ProcessorUtils.toTypeElement(type.getSuperclass()), Object.class)) return;
+
+		var constructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+			.filter(c -> c.getParameters().isEmpty())
+			.findFirst();
+
+		if (constructor.isEmpty() || !accessible(constructor.get())) return;
+
+		var fields = new LinkedList<VariableElement>();
+		for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			var modifiers = field.getModifiers();
+
+			//publicではないフィールドは対象外
+			if (modifiers.contains(Modifier.STATIC) || !modifiers.contains(Modifier.PUBLIC)) continue;
+
+			//finalの場合、実行時のエラーで使用出来ないことを通知するため生成しない
+			if (modifiers.contains(Modifier.FINAL)) return;
+
+			fields.add(field);
+		}
+
+		var columns = new LinkedList<Column>();
+		var lines = new LinkedList<String>();
+		lines.add("\t\tvar object = new " + type.getQualifiedName() + "();");
+		for (int i = 0; i < fields.size(); i++) {
+			var field = fields.get(i);
+			var column = column(field, optionals);
+			columns.add(column);
+
+			lines.add("\t\tobject." + field.getSimpleName() + " = " + column.valueExpression(i) + ";");
+		}
+
+		lines.add("\t\treturn object;");
+
+		build(type, columns, String.join(NEW_LINE, lines));
+	}
+
+	private Column column(VariableElement element, Map<Name, TypeElement> optionals) {
+		var name = element.getSimpleName();
+		return new Column(
+			name.toString(),
+			element.asType().accept(typeNameExtractor, element),
+			optionals.get(name),
+			element.getAnnotation(OptionalColumn.class) != null);
+	}
+
+	/**
+	 * 同一パッケージの生成クラスから参照、生成できるか
+	 */
+	private static boolean accessible(TypeElement type) {
+		if (!type.getTypeParameters().isEmpty()) return false;
+
+		Element element = type;
+		while (element instanceof TypeElement typeElement) {
+			var modifiers = typeElement.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.ABSTRACT)) return false;
+
+			var enclosing = typeElement.getEnclosingElement();
+
+			//インナークラスは外側のインスタンスがないと生成できない
+			if (enclosing.getKind() != ElementKind.PACKAGE
+				&& typeElement.getKind() == ElementKind.CLASS
+				&& !modifiers.contains(Modifier.STATIC)) return false;
+
+			element = enclosing;
+		}
+
+		return true;
+	}
+
+	private static boolean accessible(ExecutableElement constructor) {
+		return !constructor.getModifiers().contains(Modifier.PRIVATE);
+	}
+
+	private void build(TypeElement type, List<Column> columns, String map) {
+		var env = envSupplier.get();
+		var elements = env.getElementUtils();
+
+		var packageName = elements.getPackageOf(type).getQualifiedName().toString();
+		var binaryName = elements.getBinaryName(type).toString();
+
+		var packageNameLength = packageName.length();
+		var isPackageNameLengthZero = packageNameLength == 0;
+		var className = binaryName.substring(isPackageNameLengthZero ? 0 : packageNameLength + 1)
+			+ AtomSql.DATA_OBJECT_MAPPER_CLASS_SUFFIX;
+
+		var fileName = isPackageNameLengthZero ? className : packageName + "." + className;
+
+		if (alreadyCreatedFiles.contains(fileName)) return;
+
+		var template = Formatter.readTemplate(DataObjectMapper_Template.class, "UTF-8");
+		template = Formatter.convertToTemplate(template);
+
+		Map<String, String> param = new HashMap<>();
+
+		param.put("GENERATED", DataObjectProcessor.class.getName());
+
+		param.put("PACKAGE", packageName.isEmpty() ? "" : ("package " + packageName + ";"));
+		param.put("CLASS", className);
+
+		param.put("COLUMNS", String.join(", ", columns.stream().map(c -> "\"" + c.name + "\"").toList()));
+		param.put("TYPES", String.join(", ", columns.stream().map(Column::classExpression).toList()));
+		param.put("OPTIONAL_COLUMNS", String.join(", ", columns.stream().map(c -> String.valueOf(c.optionalColumn)).toList()));
+
+		param.put("MAP", map);
+
+		template = Formatter.format(template, param);
+
+		try {
+			try (var output = new BufferedOutputStream(env.getFiler().createSourceFile(fileName, type).openOutputStream())) {
+				output.write(template.getBytes(AtomSql.CHARSET));
+			}
+
+			alreadyCreatedFiles.add(fileName);
+		} catch (IOException ioe) {
+			error(ioe.getMessage(), type);
+		}
+	}
+
+	private void error(String message, Element e) {
+		envSupplier.get().getMessager().printMessage(Kind.ERROR, message, e);
+	}
+}
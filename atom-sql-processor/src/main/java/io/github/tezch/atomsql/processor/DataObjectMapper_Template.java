@@ -0,0 +1,34 @@
+/*--*//*@formatter:off*//*--*//*++[[PACKAGE]]++*//*--*/package io.github.tezch.atomsql.processor;/*--*/
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.annotation.processing.Generated;
+
+import io.github.tezch.atomsql.AtomSqlType;
+
+//This class was generated by Atom SQL. Do not modify this file manually.
+@Generated("[[GENERATED]]")
+@SuppressWarnings("javadoc")
+public class /*--*/DataObjectMapper_Template/*--*//*++[[CLASS]]++*/ implements io.github.tezch.atomsql.annotation.processor.DataObjectMapper {
+
+	@Override
+	public String[] columns() {
+		return new String[] { /*++[[COLUMNS]]++*/ };
+	}
+
+	@Override
+	public Class<?>[] types() {
+		return new Class<?>[] { /*++[[TYPES]]++*/ };
+	}
+
+	@Override
+	public boolean[] optionalColumns() {
+		return new boolean[] { /*++[[OPTIONAL_COLUMNS]]++*/ };
+	}
+
+	@Override
+	public Object map(ResultSet rs, AtomSqlType[] types, int[] columnIndexes) throws SQLException {
+/*++[[MAP]]++*//*--*/return null;/*--*/
+	}
+}
@@ -31,6 +31,7 @@ import javax.lang.model.util.SimpleTypeVisitor14;
 import javax.tools.Diagnostic.Kind;
 
 import io.github.tezch.atomsql.AtomSql;
+import io.github.tezch.atomsql.AtomSqlType;
 import io.github.tezch.atomsql.annotation.DataObject;
 import io.github.tezch.atomsql.annotation.OptionalColumn;
 import io.github.tezch.atomsql.processor.MetadataBuilder.MethodInfo;
@@ -49,10 +50,13 @@ class DataObjectProcessor {
 
 	private final MetadataBuilder builder;
 
+	private final DataObjectMapperBuilder mapperBuilder;
+
 	DataObjectProcessor(Supplier<ProcessingEnvironment> processingEnv) {
 		this.processingEnv = processingEnv;
 		typeNameExtractor = new TypeNameExtractor(processingEnv);
 		builder = new MetadataBuilder(processingEnv, methodVisitor);
+		mapperBuilder = new DataObjectMapperBuilder(processingEnv, typeNameExtractor);
 	}
 
 	void process(TypeElement annotation, RoundEnvironment roundEnv) {
@@ -75,11 +79,14 @@ class DataObjectProcessor {
 				return;
 			}
 
+			var type = ProcessorUtils.toTypeElement(e);
+
 			var detector = new ResultSetConstructorTypeDetector();
 			for (var enc : elements) {
 				if (enc.accept(detector, null)) {
 					if (kind != ElementKind.RECORD) {
 						//パラメータがResultSetのみのコンストラクタがありrecordではない場合、フィールドはどのような型でも自由なので検査しない
+						mapperBuilder.buildForResultSetConstructor(type, ProcessorUtils.toExecutableElement(enc));
 						return;
 					}
 				}
@@ -87,9 +94,10 @@ class DataObjectProcessor {
 
 			var visitor = new DataObjectVisitor();
 			List<Element> recordConstructors = new LinkedList<>();
-			elements.forEach(enc -> {
-				enc.accept(visitor, recordConstructors);
-			});
+			var valid = true;
+			for (var enc : elements) {
+				valid = enc.accept(visitor, recordConstructors) && valid;
+			}
 
 			//レコードの場合、コンストラクタの引数名称を保存
 			if (kind == ElementKind.RECORD) {
@@ -108,6 +116,14 @@ class DataObjectProcessor {
 				}
 
 				builder.build(e);
+
+				if (valid && !builder.hasError())
+					mapperBuilder.buildForRecord(
+						type,
+						ProcessorUtils.toExecutableElement(recordConstructors.get(0)),
+						visitor.resultTypeChecker.optionals);
+			} else if (valid) {
+				mapperBuilder.buildForClass(type, visitor.resultTypeChecker.optionals);
 			}
 
 			if (visitor.resultTypeChecker.optionals.size() > 0) {
@@ -189,6 +205,12 @@ class DataObjectProcessor {
 
 		private final ResultTypeChecker resultTypeChecker = new ResultTypeChecker();
 
+		@Override
+		protected Boolean defaultAction(Element e, List<Element> p) {
+			//ネストしたクラス等は対象外
+			return true;
+		}
+
 		@Override
 		public Boolean visitExecutable(ExecutableElement e, List<Element> p) {
 			//コンストラクタ以外はスキップ
@@ -202,6 +224,10 @@ class DataObjectProcessor {
 				return true;
 			}
 
+			//TooManyColumnsDataObject生成時に作成されるマッピング用コンストラクタはスキップ
+			if (isGeneratedMappingConstructor(e))
+				return true;
+
 			var params = e.getParameters();
 
 			//パラメータなしコンストラクタはOK
@@ -237,8 +263,26 @@ class DataObjectProcessor {
 		private static boolean isStatic(Element e) {
 			return e.getModifiers().contains(Modifier.STATIC);
 		}
+
+		private static boolean isGeneratedMappingConstructor(ExecutableElement e) {
+			if (!e.getModifiers().contains(Modifier.PRIVATE)) return false;
+
+			var params = e.getParameters();
+			if (params.size() != generatedMappingConstructorParameters.size()) return false;
+
+			for (int i = 0; i < params.size(); i++) {
+				if (!generatedMappingConstructorParameters.get(i).equals(params.get(i).asType().toString())) return false;
+			}
+
+			return true;
+		}
 	}
 
+	private static final List<String> generatedMappingConstructorParameters = List.of(
+		ResultSet.class.getName(),
+		AtomSqlType.class.getName() + "[]",
+		"int[]");
+
 	private class ResultTypeChecker extends SimpleTypeVisitor14<Boolean, Element> {
 
 		private final Map<Name, TypeElement> optionals = new LinkedHashMap<>();
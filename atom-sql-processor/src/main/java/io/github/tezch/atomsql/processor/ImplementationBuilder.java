@@ -0,0 +1,276 @@
+package io.github.tezch.atomsql.processor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import io.github.tezch.atomsql.Atom;
+import io.github.tezch.atomsql.AtomSql;
+import io.github.tezch.atomsql.Protoatom;
+import io.github.tezch.atomsql.SqlProxyMethod;
+import io.github.tezch.atomsql.annotation.SqlProxy;
+
+/**
+ * {@link io.github.tezch.atomsql.annotation.SqlProxy}の実装クラスを生成します。<br>
+ * 各メソッドは戻り値の型に対応する{@link SqlProxyMethod}のメソッドを直接呼び出し、{@link java.lang.reflect.InvocationHandler}を経由しません。<br>
+ * 生成できない形のインターフェイスの場合は何もせず、実行時には{@link java.lang.reflect.Proxy}が使用されます。
+ */
+class ImplementationBuilder {
+
+	// 二重作成防止チェッカー
+	private final Set<String> alreadyCreatedFiles = new HashSet<>();
+
+	private final Supplier<ProcessingEnvironment> envSupplier;
+
+	ImplementationBuilder(Supplier<ProcessingEnvironment> envSupplier) {
+		this.envSupplier = envSupplier;
+	}
+
+	void build(Element e) {
+		var type = ProcessorUtils.toTypeElement(e);
+
+		//実装クラスから参照できない、または実装すべきメソッドが確定できない場合は生成しない
+		if (type.getModifiers().contains(Modifier.PRIVATE)
+			|| !type.getTypeParameters().isEmpty()
+			|| !type.getInterfaces().isEmpty()) return;
+
+		var methods = new LinkedList<ExecutableElement>();
+		for (var method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			var modifiers = method.getModifiers();
+			//デフォルトメソッド、スタティックメソッドは対象外
+			if (modifiers.contains(Modifier.DEFAULT) || modifiers.contains(Modifier.STATIC)) continue;
+
+			//型パラメータ、throws句を持つメソッドがある場合は生成しない
+			if (!method.getTypeParameters().isEmpty() || !method.getThrownTypes().isEmpty()) return;
+
+			methods.add(method);
+		}
+
+		var packageName = packageName(e);
+
+		var binaryName = envSupplier.get().getElementUtils().getBinaryName(type).toString();
+
+		var packageNameLength = packageName.length();
+		var isPackageNameLengthZero = packageNameLength == 0;
+		var className = binaryName.substring(isPackageNameLengthZero ? 0 : packageNameLength + 1)
+			+ AtomSql.IMPLEMENTATION_CLASS_SUFFIX;
+
+		var fileName = isPackageNameLengthZero ? className : packageName + "." + className;
+
+		if (alreadyCreatedFiles.contains(fileName)) return;
+
+		var template = Formatter.readTemplate(AtomSqlImpl_Template.class, "UTF-8");
+		template = Formatter.convertToTemplate(template);
+
+		Map<String, String> param = new HashMap<>();
+
+		param.put("GENERATED", SqlProxyProcessor.class.getName());
+
+		param.put("PACKAGE", packageName.isEmpty() ? "" : ("package " + packageName + ";"));
+		param.put("CLASS", className);
+		param.put("INTERFACE", type.getQualifiedName().toString());
+
+		var methodParts = new ArrayList<String>();
+		for (int i = 0; i < methods.size(); i++) {
+			var methodPart = methodPart(methods.get(i), i);
+
+			//戻り値の型から呼び出し方法が確定できないメソッドがある場合は生成せず、実行時にエラーとする
+			if (methodPart == null) return;
+
+			methodParts.add(methodPart);
+		}
+
+		param.put("METHODS", String.join(AtomSql.NEW_LINE, methodParts));
+
+		template = Formatter.format(template, param);
+
+		try {
+			try (var output = new BufferedOutputStream(envSupplier.get().getFiler().createSourceFile(fileName, e).openOutputStream())) {
+				output.write(template.getBytes(AtomSql.CHARSET));
+			}
+
+			alreadyCreatedFiles.add(fileName);
+		} catch (IOException ioe) {
+			error(ioe.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 戻り値の型ごとに、{@link SqlProxyMethod}の対応するメソッドを直接呼び出す実装を作成する<br>
+	 * 呼び出し方法が確定できない場合、null
+	 */
+	private String methodPart(ExecutableElement method, int index) {
+		var types = envSupplier.get().getTypeUtils();
+
+		var methodField = "method" + index;
+
+		var parameters = method.getParameters();
+
+		List<String> parameterDeclarations = new LinkedList<>();
+		List<String> parameterClasses = new LinkedList<>();
+		List<String> arguments = new LinkedList<>();
+		for (int i = 0; i < parameters.size(); i++) {
+			var parameterType = parameters.get(i).asType();
+
+			var typeName = parameterType.toString();
+
+			//可変長引数の場合、最後の引数は配列型になっているので元の宣言に戻す
+			if (method.isVarArgs() && i == parameters.size() - 1)
+				typeName = typeName.substring(0, typeName.length() - 2) + "...";
+
+			var argument = "arg" + i;
+
+			parameterDeclarations.add(typeName + " " + argument);
+			parameterClasses.add(types.erasure(parameterType).toString() + ".class");
+
+			//引数が配列一つの場合、SqlProxyMethodの可変長引数として展開されないようにする
+			arguments.add(parameters.size() == 1 && parameterType.getKind() == TypeKind.ARRAY ? "(Object) " + argument : argument);
+		}
+
+		var returnType = method.getReturnType();
+
+		var methodName = method.getSimpleName().toString();
+
+		var sqlProxyMethod = SqlProxyMethod.class.getName();
+
+		var invocationArguments = String.join(", ", prepend("atomSql", arguments));
+
+		String body;
+		var needsField = true;
+		switch (returnKind(returnType)) {
+		case VOID:
+			body = methodField + ".execute(" + invocationArguments + ");";
+			break;
+		case EXECUTE:
+			body = "return " + methodField + ".execute(" + invocationArguments + ");";
+			break;
+		case ATOM:
+			body = "return " + methodField + ".atom(" + invocationArguments + ");";
+			break;
+		case STREAM:
+			body = "return " + methodField + ".stream(" + invocationArguments + ");";
+			break;
+		case LIST:
+			body = "return " + methodField + ".list(" + invocationArguments + ");";
+			break;
+		case OPTIONAL:
+			body = "return " + methodField + ".get(" + invocationArguments + ");";
+			break;
+		case PROTOATOM:
+			body = "return " + methodField + ".protoatom(" + invocationArguments + ");";
+			break;
+		case ATOM_SQL:
+			body = "return atomSql;";
+			needsField = false;
+			break;
+		case SQL_PROXY:
+			body = "return atomSql.of(" + types.erasure(returnType) + ".class);";
+			needsField = false;
+			break;
+		default:
+			return null;
+		}
+
+		var lines = new LinkedList<String>();
+		if (needsField) {
+			lines.add("\tprivate static final " + sqlProxyMethod + " " + methodField + " = " + sqlProxyMethod + ".of("
+				+ String.join(", ", prepend(ProcessorUtils.toTypeElement(method.getEnclosingElement()).getQualifiedName() + ".class", prepend("\"" + methodName + "\"", parameterClasses)))
+				+ ");");
+			lines.add("");
+		}
+
+		lines.add("\t@Override");
+		lines.add("\tpublic " + returnType + " " + methodName + "(" + String.join(", ", parameterDeclarations) + ") {");
+		lines.add("\t\t" + body);
+		lines.add("\t}");
+		lines.add("");
+
+		return String.join(AtomSql.NEW_LINE, lines);
+	}
+
+	/**
+	 * 戻り値の型から、{@link SqlProxyMethod}の呼び出し方法を決定する
+	 */
+	private ReturnKind returnKind(TypeMirror returnType) {
+		switch (returnType.getKind()) {
+		case VOID:
+			return ReturnKind.VOID;
+		case INT:
+			return ReturnKind.EXECUTE;
+		case DECLARED:
+			break;
+		default:
+			return ReturnKind.INCORRECT;
+		}
+
+		var element = ProcessorUtils.toTypeElement(returnType);
+
+		if (element.getAnnotation(SqlProxy.class) != null) return ReturnKind.SQL_PROXY;
+
+		var name = element.getQualifiedName().toString();
+
+		if (name.equals(AtomSql.class.getName())) return ReturnKind.ATOM_SQL;
+		if (name.equals(Atom.class.getName())) return ReturnKind.ATOM;
+		if (name.equals(Stream.class.getName())) return ReturnKind.STREAM;
+		if (name.equals(List.class.getName())) return ReturnKind.LIST;
+		if (name.equals(Optional.class.getName())) return ReturnKind.OPTIONAL;
+		if (name.equals(Protoatom.class.getName())) return ReturnKind.PROTOATOM;
+
+		return ReturnKind.INCORRECT;
+	}
+
+	private static enum ReturnKind {
+
+		VOID,
+
+		EXECUTE,
+
+		ATOM_SQL,
+
+		SQL_PROXY,
+
+		ATOM,
+
+		STREAM,
+
+		LIST,
+
+		OPTIONAL,
+
+		PROTOATOM,
+
+		INCORRECT;
+	}
+
+	private static List<String> prepend(String first, List<String> rest) {
+		var list = new LinkedList<String>(rest);
+		list.addFirst(first);
+		return list;
+	}
+
+	private String packageName(Element e) {
+		return envSupplier.get().getElementUtils().getPackageOf(e).getQualifiedName().toString();
+	}
+
+	private void error(String message, Element e) {
+		envSupplier.get().getMessager().printMessage(Kind.ERROR, message, e);
+	}
+}
@@ -17,6 +17,8 @@ import javax.tools.Diagnostic.Kind;
 
 import io.github.tezch.atomsql.AtomSql;
 import io.github.tezch.atomsql.annotation.processor.Method;
+import io.github.tezch.atomsql.annotation.processor.SqlPart;
+import io.github.tezch.atomsql.internal.SqlPartFinder.PartConsumer;
 
 class MetadataBuilder {
 
@@ -90,6 +92,10 @@ class MetadataBuilder {
 		//unused警告を出さないために、メソッドが0件の場合はアノテーションのimportを消す
 		param.put("IMPORT_METHOD_CLASS", infos.size() > 0 ? ("import " + Method.class.getName() + ";") : "");
 
+		param.put(
+			"IMPORT_SQL_PART_CLASS",
+			infos.stream().anyMatch(i -> i.sqlParts.size() > 0) ? ("import " + SqlPart.class.getName() + ";") : "");
+
 		var methodPart = String.join(
 			", ",
 			infos.stream().map(MetadataBuilder::methodPart).toList());
@@ -143,6 +149,9 @@ class MetadataBuilder {
 
 		methodContents.add("nonThreadSafe = " + info.nonThreadSafe);
 
+		if (info.sqlParts.size() > 0)
+			methodContents.add("sql = {" + String.join(", ", info.sqlParts) + "}");
+
 		return "@Method(" + String.join(", ", methodContents) + ")";
 	}
 
@@ -171,5 +180,57 @@ class MetadataBuilder {
 		String protoatomImplanter;
 
 		boolean nonThreadSafe;
+
+		final List<String> sqlParts = new LinkedList<>();
+	}
+
+	/**
+	 * 解析したSQLの部品を{@link SqlPart}の記述として{@link MethodInfo}に格納します。
+	 */
+	static class SqlPartCollector implements PartConsumer {
+
+		//文字列定数の上限（65535バイト）を超えないように、長いテキストは分割する
+		private static final int maxTextLength = 8192;
+
+		private final MethodInfo info;
+
+		SqlPartCollector(MethodInfo info) {
+			this.info = info;
+		}
+
+		@Override
+		public void text(String text) {
+			int start = 0;
+			while (text.length() - start > maxTextLength) {
+				var end = start + maxTextLength;
+
+				//サロゲートペアを分断しない
+				if (Character.isHighSurrogate(text.charAt(end - 1))) end--;
+
+				add(SqlPart.Type.TEXT, text.substring(start, end), null);
+
+				start = end;
+			}
+
+			add(SqlPart.Type.TEXT, text.substring(start), null);
+		}
+
+		@Override
+		public void placeholder(String name, String original) {
+			add(SqlPart.Type.PLACEHOLDER, name, original);
+		}
+
+		@Override
+		public void variable(String name, String original) {
+			add(SqlPart.Type.VARIABLE, name, original);
+		}
+
+		private void add(SqlPart.Type type, String value, String original) {
+			var part = "@SqlPart(type = SqlPart.Type." + type + ", value = " + ProcessorUtils.toStringLiteral(value);
+
+			if (original != null) part += ", original = " + ProcessorUtils.toStringLiteral(original);
+
+			info.sqlParts.add(part + ")");
+		}
 	}
 }
@@ -72,6 +72,7 @@ class ParameterBinderBuilder extends HelperBuilder {
 	void processFields(ExecutableElement method, String sql, Map<String, String> param) {
 		var dubplicateChecker = new HashSet<String>();
 		var fields = new LinkedList<String>();
+		var names = new LinkedList<String>();
 		var enumValidators = new LinkedList<String>();
 
 		boolean[] nonThreadSafe = { false };
@@ -113,12 +114,18 @@ class ParameterBinderBuilder extends HelperBuilder {
 				+ f.placeholder
 				+ ";";
 			fields.add(field);
+
+			names.add(f.placeholder);
 		});
 
 		this.nonThreadSafe.set(nonThreadSafe[0]);
 
 		param.put("FIELDS", String.join(AtomSql.NEW_LINE, fields));
 
+		param.put("NAMES", String.join(", ", names.stream().map(n -> "\"" + n + "\"").toList()));
+
+		param.put("VALUES", String.join(", ", names));
+
 		param.put("ENUM_VALIDATORS", String.join(AtomSql.NEW_LINE, enumValidators));
 	}
 
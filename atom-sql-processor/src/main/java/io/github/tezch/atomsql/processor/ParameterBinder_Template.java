@@ -5,11 +5,25 @@ import javax.annotation.processing.Generated;
 //This class was generated by Atom SQL. Do not modify this file manually.
 @Generated("[[GENERATED]]")
 @SuppressWarnings("javadoc")
-public class /*--*/ParameterBinder_Template/*--*//*++[[CLASS]]++*/ {
+public class /*--*/ParameterBinder_Template/*--*//*++[[CLASS]]++*/ implements io.github.tezch.atomsql.annotation.processor.ParameterBinder {
 
 	static { //Enum validation part
 /*++[[ENUM_VALIDATORS]]++*/
 	}
 
 /*++[[FIELDS]]++*/
+
+	public static java.util.function.Supplier<io.github.tezch.atomsql.annotation.processor.ParameterBinder> factory() {
+		return /*--*/ParameterBinder_Template/*--*//*++[[CLASS]]++*/::new;
+	}
+
+	@Override
+	public String[] names() {
+		return new String[] { /*++[[NAMES]]++*/ };
+	}
+
+	@Override
+	public Object[] values() {
+		return new Object[] { /*++[[VALUES]]++*/ };
+	}
 }
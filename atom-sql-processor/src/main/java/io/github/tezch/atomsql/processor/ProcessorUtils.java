@@ -195,6 +195,40 @@ class ProcessorUtils {
 			.orElseThrow();
 	}
 
+	/**
+	 * 文字列をJavaの文字列リテラルとして記述できる形に変換します。<br>
+	 * ソースファイルのエンコーディングに依存しないように、ASCII以外の文字はエスケープします。
+	 * @param value
+	 * @return 文字列リテラル
+	 */
+	static String toStringLiteral(String value) {
+		var builder = new StringBuilder(value.length() + 2);
+		builder.append('"');
+
+		for (int i = 0; i < value.length(); i++) {
+			var c = value.charAt(i);
+			switch (c) {
+			case '"' -> builder.append("\\\"");
+			case '\\' -> builder.append("\\\\");
+			case '\n' -> builder.append("\\n");
+			case '\r' -> builder.append("\\r");
+			case '\t' -> builder.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					//改行等のunicodeエスケープはコンパイル前に変換されてしまうため8進数で記述する
+					builder.append(String.format("\\%03o", (int) c));
+				} else if (c > 0x7e) {
+					builder.append(String.format("\\u%04x", (int) c));
+				} else {
+					builder.append(c);
+				}
+			}
+			}
+		}
+
+		return builder.append('"').toString();
+	}
+
 	static Optional<String> enumValidator(AtomSqlType type, String symbol) {
 		if (type instanceof ENUM_EXPRESSION_TYPE) {
 			//enumClassとしてなんでも記述できないように、Enumの型パラメータとして表現することで
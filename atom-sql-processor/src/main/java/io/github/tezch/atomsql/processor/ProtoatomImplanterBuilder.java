@@ -11,6 +11,7 @@ import javax.lang.model.element.ExecutableElement;
 import io.github.tezch.atomsql.Atom;
 import io.github.tezch.atomsql.AtomSql;
 import io.github.tezch.atomsql.Protoatom;
+import io.github.tezch.atomsql.internal.SqlScanner;
 
 class ProtoatomImplanterBuilder extends HelperBuilder {
 
@@ -66,7 +67,7 @@ class ProtoatomImplanterBuilder extends HelperBuilder {
 	void processFields(ExecutableElement method, String sql, Map<String, String> param) {
 		var dubplicateChecker = new HashSet<String>();
 		var fields = new LinkedList<String>();
-		AtomVariableFinder.execute(sql, variable -> {
+		SqlScanner.findVariables(sql, variable -> {
 			//重複は除外
 			if (dubplicateChecker.contains(variable)) return;
 
@@ -42,9 +42,11 @@ import io.github.tezch.atomsql.internal.AtomSqlUtils;
 import io.github.tezch.atomsql.internal.ColumnFinder;
 import io.github.tezch.atomsql.internal.PlaceholderFinder;
 import io.github.tezch.atomsql.internal.SqlMasker;
+import io.github.tezch.atomsql.internal.SqlPartFinder;
 import io.github.tezch.atomsql.internal.ColumnFinder.Found;
 import io.github.tezch.atomsql.processor.MetadataBuilder.MethodInfo;
 import io.github.tezch.atomsql.processor.MetadataBuilder.MethodVisitor;
+import io.github.tezch.atomsql.processor.MetadataBuilder.SqlPartCollector;
 import io.github.tezch.atomsql.processor.MethodExtractor.Result;
 import io.github.tezch.atomsql.processor.MethodExtractor.SqlNotFoundException;
 import io.github.tezch.atomsql.processor.SourceBuilder.DuplicateClassChecker;
@@ -67,6 +69,8 @@ class SqlProxyProcessor {
 
 	private final MetadataBuilder metadataBuilder;
 
+	private final ImplementationBuilder implementationBuilder;
+
 	private final DuplicateClassChecker duplicateClassChecker;
 
 	private final ParameterBinderBuilder parameterBinderBuilder;
@@ -80,6 +84,7 @@ class SqlProxyProcessor {
 		typeNameExtractor = new TypeNameExtractor(processingEnv);
 		methodExtractor = new MethodExtractor(processingEnv);
 		metadataBuilder = new MetadataBuilder(processingEnv, methodVisitor);
+		implementationBuilder = new ImplementationBuilder(processingEnv);
 
 		duplicateClassChecker = new DuplicateClassChecker();
 		parameterBinderBuilder = new ParameterBinderBuilder(processingEnv, duplicateClassChecker);
@@ -143,8 +148,11 @@ class SqlProxyProcessor {
 
 		metadataBuilder.build(e);
 
-		if (!metadataBuilder.hasError())
+		if (!metadataBuilder.hasError()) {
+			implementationBuilder.build(e);
+
 			sqlProxyList.add(binaryClassName);
+		}
 	}
 
 	private void error(String message, Element e) {
@@ -505,6 +513,9 @@ class SqlProxyProcessor {
 				return DEFAULT_VALUE;
 			}
 
+			//実行時に解析しなおさないように、解析結果をメタデータに格納する
+			SqlPartFinder.execute(result.sql, new SqlPartCollector(info));
+
 			var maskedSql = new SqlMasker().mask(result.sql);
 
 			if (info.parameterBinder == null) {
@@ -1,8 +1,13 @@
 /*--*//*@formatter:off*//*--*//*++[[PACKAGE]]++*//*--*/package io.github.tezch.atomsql.processor;/*--*/
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 import javax.annotation.processing.Generated;
 
+import io.github.tezch.atomsql.AtomSqlType;
 import io.github.tezch.atomsql.annotation.DataObject;
+import io.github.tezch.atomsql.annotation.processor.DataObjectMapper;
 import io.github.tezch.atomsql.annotation.processor.TooManyColumnsDataObject;
 
 //This class was generated by Atom SQL. Do not modify this file manually.
@@ -19,6 +24,10 @@ public class /*--*/TooManyColumnsDataObject_Template/*--*//*++[[CLASS]]++*/ {
 /*++[[BEAN_TO_COLUMNS]]++*/
 	}
 
+	private /*--*/TooManyColumnsDataObject_Template/*--*//*++[[CLASS]]++*/(ResultSet rs, AtomSqlType[] types, int[] columnIndexes) throws SQLException {
+/*++[[RESULT_SET_TO_COLUMNS]]++*/
+	}
+
 /*++[[FIELDS]]++*/
 
 /*++[[METHODS]]++*/
@@ -26,4 +35,28 @@ public class /*--*/TooManyColumnsDataObject_Template/*--*//*++[[CLASS]]++*/ {
 	public static class Bean {
 /*++[[COLUMNS]]++*/
 	}
+
+	public static class /*--*/AtomSqlDataObjectMapper/*--*//*++[[MAPPER_CLASS]]++*/ implements DataObjectMapper {
+
+		@Override
+		public String[] columns() {
+			return new String[] { /*++[[COLUMN_NAMES]]++*/ };
+		}
+
+		@Override
+		public Class<?>[] types() {
+			return new Class<?>[] { /*++[[TYPES]]++*/ };
+		}
+
+		@Override
+		public boolean[] optionalColumns() {
+			//OptionalColumnは使用されない
+			return new boolean[columns().length];
+		}
+
+		@Override
+		public Object map(ResultSet rs, AtomSqlType[] types, int[] columnIndexes) throws SQLException {
+			return new /*--*/TooManyColumnsDataObject_Template/*--*//*++[[CLASS]]++*/(rs, types, columnIndexes);
+		}
+	}
 }
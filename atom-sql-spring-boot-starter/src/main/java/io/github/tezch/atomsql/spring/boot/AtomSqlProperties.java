@@ -6,6 +6,8 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 import io.github.tezch.atomsql.AtomSql;
 import io.github.tezch.atomsql.AtomSqlTypeFactory;
 import io.github.tezch.atomsql.Configuration;
+import io.github.tezch.atomsql.Csv;
+import io.github.tezch.atomsql.JdbcSqlService;
 import io.github.tezch.atomsql.annotation.NoSqlLog;
 import io.github.tezch.atomsql.annotation.Qualifier;
 import io.github.tezch.atomsql.spring.AtomSqlContextInitializer;
@@ -21,6 +23,9 @@ import io.github.tezch.atomsql.spring.AtomSqlContextInitializer;
  * @param jdbcTemplateSqlServiceFactoryClass {@link JdbcTemplateSqlServiceFactory}のFQCN
  * @param batchThreshold バッチ更新時の閾値
  * @param cacheCapacity キャッシュの最大値
+ * @param usesCsvPadding {@link Csv}の値の数を2のべき乗まで最後の値で埋めるかどうか
+ * @param statementCacheCapacity {@link JdbcSqlService}がConnectionごとにキャッシュするPreparedStatementの最大値
+ * @param adaptiveFetchSize メソッドごとの過去の検索結果件数からフェッチサイズを決定するかどうか
  */
 @ConfigurationProperties(prefix = AtomSqlContextInitializer.PROPERTIES_PREFIX)
 public record AtomSqlProperties(
@@ -31,4 +36,7 @@ public record AtomSqlProperties(
 	@DefaultValue("") String typeFactoryClass,
 	@DefaultValue("") String jdbcTemplateSqlServiceFactoryClass,
 	@DefaultValue("0") int batchThreshold,
-	@DefaultValue(AtomSql.DEFAULT_CACHE_SIZE) int cacheCapacity) implements Configuration {}
+	@DefaultValue(AtomSql.DEFAULT_CACHE_SIZE) int cacheCapacity,
+	@DefaultValue("false") boolean usesCsvPadding,
+	@DefaultValue("0") int statementCacheCapacity,
+	@DefaultValue("false") boolean adaptiveFetchSize) implements Configuration {}
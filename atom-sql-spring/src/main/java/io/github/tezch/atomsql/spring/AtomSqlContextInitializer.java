@@ -75,6 +75,12 @@ public class AtomSqlContextInitializer implements ApplicationContextInitializer<
 			Integer.class,
 			Integer.parseInt(AtomSql.DEFAULT_CACHE_SIZE));
 
+		var usesCsvPadding = environment.getProperty(PROPERTIES_PREFIX + ".uses-csv-padding", Boolean.class, false);
+
+		var statementCacheCapacity = environment.getProperty(PROPERTIES_PREFIX + ".statement-cache-capacity", Integer.class, 0);
+
+		var adaptiveFetchSize = environment.getProperty(PROPERTIES_PREFIX + ".adaptive-fetch-size", Boolean.class, false);
+
 		return new SimpleConfiguration(
 			enableLog,
 			logStackTracePattern,
@@ -82,6 +88,9 @@ public class AtomSqlContextInitializer implements ApplicationContextInitializer<
 			usesQualifier,
 			typeFactoryClass,
 			batchThreshold,
-			cacheCapacity);
+			cacheCapacity,
+			usesCsvPadding,
+			statementCacheCapacity,
+			adaptiveFetchSize);
 	}
 }
@@ -11,13 +11,16 @@ import java.util.stream.Stream;
 
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 
 import io.github.tezch.atomsql.AtomSql;
 import io.github.tezch.atomsql.BatchPreparedStatementSetter;
+import io.github.tezch.atomsql.ColumnarResult;
 import io.github.tezch.atomsql.ConnectionProxy;
 import io.github.tezch.atomsql.SqlService;
 import io.github.tezch.atomsql.internal.SimpleConnectionProxy;
 import io.github.tezch.atomsql.PreparedStatementSetter;
+import io.github.tezch.atomsql.QueryHints;
 import io.github.tezch.atomsql.RowMapper;
 import io.github.tezch.atomsql.SqlProxySnapshot;
 
@@ -64,8 +67,43 @@ public class JdbcTemplateSqlService implements SqlService {
 		PreparedStatementSetter pss,
 		RowMapper<T> rowMapper,
 		SqlProxySnapshot snapshot) {
+		return queryForStream(sql, pss, rowMapper, QueryHints.NONE, snapshot);
+	}
+
+	/**
+	 * {@link QueryHints}は{@link JdbcTemplate}自体のfetchSize、maxRowsの設定よりも優先されます。
+	 * @see JdbcTemplate#queryForStream(String, org.springframework.jdbc.core.PreparedStatementSetter, org.springframework.jdbc.core.RowMapper)
+	 */
+	@Override
+	public <T> Stream<T> queryForStream(
+		String sql,
+		PreparedStatementSetter pss,
+		RowMapper<T> rowMapper,
+		QueryHints hints,
+		SqlProxySnapshot snapshot) {
+		// MySQLのPareparedStatement#toString()対策でSQLの先頭に改行を付与
+		// JdbcTemplateは自身の設定をPreparedStatementSetterの呼び出し前に行うため、ここで上書きする
+		return jdbcTemplate.queryForStream(AtomSql.NEW_LINE + sql, (ps) -> {
+			hints.apply(ps);
+			pss.setValues(ps);
+		}, (rs, rowNum) -> rowMapper.mapRow(rs, rowNum));
+	}
+
+	/**
+	 * {@link QueryHints}は{@link JdbcTemplate}自体のfetchSize、maxRowsの設定よりも優先されます。
+	 * @see JdbcTemplate#query(String, org.springframework.jdbc.core.PreparedStatementSetter, ResultSetExtractor)
+	 */
+	@Override
+	public ColumnarResult queryForColumns(
+		String sql,
+		PreparedStatementSetter pss,
+		QueryHints hints,
+		SqlProxySnapshot snapshot) {
 		// MySQLのPareparedStatement#toString()対策でSQLの先頭に改行を付与
-		return jdbcTemplate.queryForStream(AtomSql.NEW_LINE + sql, (ps) -> pss.setValues(ps), (rs, rowNum) -> rowMapper.mapRow(rs, rowNum));
+		return jdbcTemplate.query(AtomSql.NEW_LINE + sql, (ps) -> {
+			hints.apply(ps);
+			pss.setValues(ps);
+		}, (ResultSetExtractor<ColumnarResult>) ColumnarResult::of);
 	}
 
 	/**